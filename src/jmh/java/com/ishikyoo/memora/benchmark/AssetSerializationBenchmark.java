@@ -0,0 +1,56 @@
+package com.ishikyoo.memora.benchmark;
+
+import com.ishikyoo.memora.api.asset.InMemoryBlockStateAsset;
+import com.ishikyoo.memora.api.asset.InMemoryPackMetadataAsset;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.PackType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssetSerializationBenchmark {
+
+    @Param({"16", "256"})
+    public int variants;
+
+    private InMemoryBlockStateAsset blockState;
+    private InMemoryBlockStateAsset.Variant[] toggles;
+    private InMemoryPackMetadataAsset metadata;
+    private Component[] descriptions;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkFixtures.bootstrap();
+        ResourceLocation model = ResourceLocation.fromNamespaceAndPath(BenchmarkFixtures.NAMESPACE, "block/serialized");
+        InMemoryBlockStateAsset asset = InMemoryBlockStateAsset.of(BenchmarkFixtures.NAMESPACE, "serialized");
+        for (int i = 0; i < variants; i++) {
+            asset = asset.withVariant("power=" + i, InMemoryBlockStateAsset.Variant.of(
+                    InMemoryBlockStateAsset.Model.of(model).withY(i * 90)));
+        }
+        blockState = asset;
+        toggles = new InMemoryBlockStateAsset.Variant[]{
+                InMemoryBlockStateAsset.Variant.of(InMemoryBlockStateAsset.Model.of(model)),
+                InMemoryBlockStateAsset.Variant.of(InMemoryBlockStateAsset.Model.of(model).withUVLock(true))
+        };
+        metadata = InMemoryPackMetadataAsset.of(PackType.CLIENT_RESOURCES, Component.literal("Serialized"));
+        descriptions = new Component[]{Component.literal("Serialized A"), Component.literal("Serialized B")};
+    }
+
+    @Benchmark
+    public byte[] blockState() {
+        return blockState.withVariant("toggle", toggles[cursor++ & 1]).bytes();
+    }
+
+    @Benchmark
+    public byte[] packMetadata() {
+        return metadata.withDescription(descriptions[cursor++ & 1]).bytes();
+    }
+}
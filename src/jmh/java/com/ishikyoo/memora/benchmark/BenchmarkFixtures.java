@@ -0,0 +1,111 @@
+package com.ishikyoo.memora.benchmark;
+
+import com.ishikyoo.memora.api.InMemoryPack;
+import com.ishikyoo.memora.api.InMemoryPackMetadata;
+import com.ishikyoo.memora.api.InMemoryPackStorage;
+import com.ishikyoo.memora.api.asset.InMemoryBlockStateAsset;
+import com.ishikyoo.memora.internal.InMemoryPackResources;
+import net.minecraft.SharedConstants;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.server.packs.PackLocationInfo;
+import net.minecraft.server.packs.PackSelectionConfig;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.server.packs.repository.Pack;
+import net.minecraft.server.packs.repository.PackSource;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+final class BenchmarkFixtures {
+
+    static final String NAMESPACE = "bench";
+    static final String TEXTURE_DIRECTORY = "textures/block";
+
+    private static boolean bootstrapped;
+
+    private BenchmarkFixtures() { }
+
+    static synchronized void bootstrap() {
+        if (bootstrapped) return;
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        bootstrapped = true;
+    }
+
+    static @NotNull InMemoryPackMetadata metadata(@NotNull String id, @NotNull InMemoryPackStorage storage) {
+        return InMemoryPackMetadata.of(
+                id,
+                PackType.CLIENT_RESOURCES,
+                PackSource.BUILT_IN,
+                new PackSelectionConfig(false, Pack.Position.TOP, false),
+                Component.literal(id),
+                Component.literal("Memora benchmark pack")
+        ).withStorage(storage);
+    }
+
+    static @NotNull InMemoryBlockStateAsset blockState(int index) {
+        ResourceLocation model = ResourceLocation.fromNamespaceAndPath(NAMESPACE, "block/block_" + index);
+        return InMemoryBlockStateAsset.of(NAMESPACE, "block_" + index)
+                .withVariant("facing=north", InMemoryBlockStateAsset.Variant.of(InMemoryBlockStateAsset.Model.of(model)))
+                .withVariant("facing=east", InMemoryBlockStateAsset.Variant.of(InMemoryBlockStateAsset.Model.of(model).withY(90)))
+                .withVariant("facing=south", InMemoryBlockStateAsset.Variant.of(InMemoryBlockStateAsset.Model.of(model).withY(180)))
+                .withVariant("facing=west", InMemoryBlockStateAsset.Variant.of(InMemoryBlockStateAsset.Model.of(model).withY(270)));
+    }
+
+    static @NotNull List<InMemoryBlockStateAsset> blockStates(int count) {
+        List<InMemoryBlockStateAsset> assets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            assets.add(blockState(i));
+        }
+        return assets;
+    }
+
+    static @NotNull InMemoryPack pack(@NotNull String id, int assets, @NotNull InMemoryPackStorage storage) {
+        InMemoryPack.Builder builder = InMemoryPack.builder(metadata(id, storage));
+        for (int i = 0; i < assets; i++) {
+            builder.asset(blockState(i));
+        }
+        return builder.build();
+    }
+
+    static @NotNull PackLocationInfo location(@NotNull String id) {
+        return new PackLocationInfo(id, Component.literal(id), PackSource.BUILT_IN, Optional.empty());
+    }
+
+    static @NotNull ResourceLocation texture(int index) {
+        return ResourceLocation.fromNamespaceAndPath(NAMESPACE, TEXTURE_DIRECTORY + "/block_" + index + ".png");
+    }
+
+    static @NotNull InMemoryPackResources resources(@NotNull String id, int count, int size) {
+        InMemoryPackResources resources = new InMemoryPackResources(PackType.CLIENT_RESOURCES, location(id));
+        Random random = new Random(count);
+        for (int i = 0; i < count; i++) {
+            byte[] bytes = new byte[size];
+            random.nextBytes(bytes);
+            resources.addResource(texture(i), bytes);
+        }
+        return resources;
+    }
+
+    static long bufferBytes() {
+        long used = 0;
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            used += pool.getMemoryUsed();
+        }
+        return used;
+    }
+
+    static long heapBytes() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,70 @@
+package com.ishikyoo.memora.benchmark;
+
+import com.ishikyoo.memora.internal.InMemoryPackResources;
+import com.ishikyoo.memora.internal.InMemoryResource;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.server.packs.resources.IoSupplier;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentAccessBenchmark {
+
+    private static final int RESOURCES = 10000;
+    private static final int CHURN = 256;
+
+    private InMemoryPackResources pack;
+    private ResourceLocation[] locations;
+    private ResourceLocation[] churn;
+    private byte[] payload;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkFixtures.bootstrap();
+        pack = BenchmarkFixtures.resources("concurrent", RESOURCES, 256);
+        locations = new ResourceLocation[RESOURCES];
+        for (int i = 0; i < RESOURCES; i++) {
+            locations[i] = BenchmarkFixtures.texture(i);
+        }
+        churn = new ResourceLocation[CHURN];
+        for (int i = 0; i < CHURN; i++) {
+            churn[i] = BenchmarkFixtures.texture(RESOURCES + i);
+        }
+        payload = new byte[256];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pack.dispose();
+    }
+
+    @Benchmark
+    @Group("readWhileMutating")
+    @GroupThreads(3)
+    public IoSupplier<InputStream> read() {
+        ResourceLocation location = locations[ThreadLocalRandom.current().nextInt(RESOURCES)];
+        return pack.getResource(PackType.CLIENT_RESOURCES, location);
+    }
+
+    @Benchmark
+    @Group("readWhileMutating")
+    @GroupThreads(1)
+    public Optional<InMemoryResource> mutate() {
+        ResourceLocation location = churn[cursor++ & (CHURN - 1)];
+        if (pack.containsResource(location)) {
+            return pack.removeResource(location);
+        }
+        return pack.addResource(location, payload);
+    }
+}
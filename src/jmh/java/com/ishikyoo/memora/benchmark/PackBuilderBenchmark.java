@@ -0,0 +1,50 @@
+package com.ishikyoo.memora.benchmark;
+
+import com.ishikyoo.memora.api.InMemoryPack;
+import com.ishikyoo.memora.api.InMemoryPackMetadata;
+import com.ishikyoo.memora.api.InMemoryPackStorage;
+import com.ishikyoo.memora.api.asset.InMemoryBlockStateAsset;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackBuilderBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int assets;
+
+    private InMemoryPackMetadata metadata;
+    private List<InMemoryBlockStateAsset> blockStates;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkFixtures.bootstrap();
+        metadata = BenchmarkFixtures.metadata("builder", InMemoryPackStorage.HEAP);
+        blockStates = BenchmarkFixtures.blockStates(assets);
+    }
+
+    @Benchmark
+    public InMemoryPack withAssetChain() {
+        InMemoryPack pack = InMemoryPack.of(metadata);
+        for (InMemoryBlockStateAsset asset : blockStates) {
+            pack = pack.withAsset(asset);
+        }
+        return pack;
+    }
+
+    @Benchmark
+    public InMemoryPack builder() {
+        InMemoryPack.Builder builder = InMemoryPack.builder(metadata);
+        for (InMemoryBlockStateAsset asset : blockStates) {
+            builder.asset(asset);
+        }
+        return builder.build();
+    }
+}
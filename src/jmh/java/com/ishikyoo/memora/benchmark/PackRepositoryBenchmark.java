@@ -0,0 +1,51 @@
+package com.ishikyoo.memora.benchmark;
+
+import com.ishikyoo.memora.api.InMemoryPack;
+import com.ishikyoo.memora.api.InMemoryPackRepository;
+import com.ishikyoo.memora.api.InMemoryPackStorage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PackRepositoryBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int assets;
+
+    private InMemoryPackRepository repository;
+    private InMemoryPack pack;
+    private int sequence;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        BenchmarkFixtures.bootstrap();
+        repository = new InMemoryPackRepository();
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        pack = BenchmarkFixtures.pack("add_pack_" + sequence++, assets, InMemoryPackStorage.HEAP);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+        repository.removePack(pack.metadata().id());
+    }
+
+    @Benchmark
+    public Optional<InMemoryPack> addPack() {
+        return repository.addPack(pack);
+    }
+
+    @Benchmark
+    public Optional<InMemoryPack> addPackAsync() {
+        return repository.addPackAsync(pack).join();
+    }
+}
@@ -0,0 +1,76 @@
+package com.ishikyoo.memora.benchmark;
+
+import com.ishikyoo.memora.internal.InMemoryPackResources;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.server.packs.resources.IoSupplier;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackResourcesBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"1000", "100000"})
+    public int resources;
+
+    private InMemoryPackResources pack;
+    private ResourceLocation[] hits;
+    private ResourceLocation[] misses;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkFixtures.bootstrap();
+        pack = BenchmarkFixtures.resources("pack_resources", resources, 256);
+        hits = new ResourceLocation[LOOKUPS];
+        misses = new ResourceLocation[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            hits[i] = BenchmarkFixtures.texture((int) ((i * 2654435761L) % resources));
+            misses[i] = BenchmarkFixtures.texture(resources + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pack.dispose();
+    }
+
+    @Benchmark
+    public IoSupplier<InputStream> getResourceHit() {
+        return pack.getResource(PackType.CLIENT_RESOURCES, hits[next()]);
+    }
+
+    @Benchmark
+    public IoSupplier<InputStream> getResourceMiss() {
+        return pack.getResource(PackType.CLIENT_RESOURCES, misses[next()]);
+    }
+
+    @Benchmark
+    public int openResource() throws IOException {
+        IoSupplier<InputStream> supplier = pack.getResource(PackType.CLIENT_RESOURCES, hits[next()]);
+        try (InputStream stream = supplier.get()) {
+            return stream.readAllBytes().length;
+        }
+    }
+
+    @Benchmark
+    public void listResources(Blackhole blackhole) {
+        pack.listResources(PackType.CLIENT_RESOURCES, BenchmarkFixtures.NAMESPACE, BenchmarkFixtures.TEXTURE_DIRECTORY,
+                (location, supplier) -> blackhole.consume(location));
+    }
+
+    private int next() {
+        return cursor = (cursor + 1) & (LOOKUPS - 1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.ishikyoo.memora.benchmark;
+
+import com.ishikyoo.memora.api.InMemoryPack;
+import com.ishikyoo.memora.api.InMemoryPackRepository;
+import com.ishikyoo.memora.api.InMemoryPackStorage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RetainedMemoryBenchmark {
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+
+        public long retainedBytes;
+
+        public long retainedHeapBytes;
+
+        private long heapBefore;
+        private long usedBefore;
+
+        @Setup(Level.Iteration)
+        public void before(RetainedMemoryBenchmark benchmark) {
+            heapBefore = BenchmarkFixtures.heapBytes();
+            usedBefore = heapBefore + BenchmarkFixtures.bufferBytes();
+        }
+
+        @TearDown(Level.Iteration)
+        public void after(RetainedMemoryBenchmark benchmark) {
+            long heapAfter = BenchmarkFixtures.heapBytes();
+            retainedHeapBytes = heapAfter - heapBefore;
+            retainedBytes = heapAfter + BenchmarkFixtures.bufferBytes() - usedBefore;
+        }
+    }
+
+    @Param({"1000", "10000", "100000"})
+    public int assets;
+
+    @Param({"HEAP", "DIRECT", "COMPRESSED"})
+    public InMemoryPackStorage storage;
+
+    private InMemoryPackRepository repository;
+    private InMemoryPack pack;
+    private int sequence;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        BenchmarkFixtures.bootstrap();
+        repository = new InMemoryPackRepository();
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        pack = BenchmarkFixtures.pack("retained_" + sequence++, assets, storage);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDownIteration() {
+        repository.removePack(pack.metadata().id());
+    }
+
+    @Benchmark
+    public void addPack(Footprint footprint) {
+        repository.addPack(pack);
+    }
+}
@@ -0,0 +1,8 @@
+package com.ishikyoo.memora.api;
+
+public record InMemoryDeduplicationStats(long entries, long references, long uniqueBytes, long referencedBytes) {
+
+    public long savedBytes() {
+        return referencedBytes - uniqueBytes;
+    }
+}
@@ -1,6 +1,7 @@
 package com.ishikyoo.memora.api;
 
 import com.ishikyoo.memora.api.asset.InMemoryAsset;
+import com.ishikyoo.memora.internal.util.PersistentHashMap;
 import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.NotNull;
 
@@ -8,17 +9,74 @@ import java.util.*;
 
 public final class InMemoryPack {
 
+    public static final class Builder {
+
+        private final @NotNull InMemoryPackMetadata metadata;
+        private @NotNull PersistentHashMap.Transient<ResourceLocation, InMemoryAsset> assets;
+        private final @NotNull List<InMemoryResourceProvider> providers;
+
+        private Builder(@NotNull InMemoryPackMetadata metadata, @NotNull PersistentHashMap<ResourceLocation, InMemoryAsset> assets,
+                        @NotNull List<InMemoryResourceProvider> providers) {
+            this.metadata = metadata;
+            this.assets = assets.asTransient();
+            this.providers = new ArrayList<>(providers);
+        }
+
+        public @NotNull Builder asset(@NotNull InMemoryAsset asset) {
+            assets.put(Objects.requireNonNull(asset.location()), asset);
+            return this;
+        }
+
+        public @NotNull Builder assets(@NotNull Collection<? extends InMemoryAsset> assets) {
+            Objects.requireNonNull(assets).forEach(this::asset);
+            return this;
+        }
+
+        public @NotNull Builder withoutAsset(@NotNull ResourceLocation location) {
+            assets.remove(Objects.requireNonNull(location));
+            return this;
+        }
+
+        public @NotNull Builder provider(@NotNull InMemoryResourceProvider provider) {
+            providers.add(Objects.requireNonNull(provider));
+            return this;
+        }
+
+        public int size() {
+            return assets.size();
+        }
+
+        public @NotNull InMemoryPack build() {
+            PersistentHashMap<ResourceLocation, InMemoryAsset> assets = this.assets.persistent();
+            this.assets = assets.asTransient();
+            return new InMemoryPack(metadata, assets, List.copyOf(providers));
+        }
+    }
+
     private final @NotNull InMemoryPackMetadata metadata;
 
-    private final @NotNull Map<ResourceLocation, InMemoryAsset> assets;
+    private final @NotNull PersistentHashMap<ResourceLocation, InMemoryAsset> assets;
+
+    private final @NotNull List<InMemoryResourceProvider> providers;
 
-    private InMemoryPack(@NotNull InMemoryPackMetadata metadata, @NotNull Map<ResourceLocation, InMemoryAsset> assets) {
+    private InMemoryPack(@NotNull InMemoryPackMetadata metadata, @NotNull PersistentHashMap<ResourceLocation, InMemoryAsset> assets,
+                         @NotNull List<InMemoryResourceProvider> providers) {
         this.metadata = metadata;
-        this.assets = Collections.unmodifiableMap(assets);
+        this.assets = assets;
+        this.providers = providers;
     }
 
     public static InMemoryPack of(@NotNull InMemoryPackMetadata metadata) {
-        return new InMemoryPack(metadata, new HashMap<>()).withAsset(metadata.asset());
+        return new InMemoryPack(metadata, PersistentHashMap.empty(), List.of()).withAsset(metadata.asset());
+    }
+
+    public static @NotNull Builder builder(@NotNull InMemoryPackMetadata metadata) {
+        Objects.requireNonNull(metadata);
+        return new Builder(metadata, PersistentHashMap.empty(), List.of()).asset(metadata.asset());
+    }
+
+    public @NotNull Builder toBuilder() {
+        return new Builder(metadata, assets, providers);
     }
 
     public @NotNull InMemoryPackMetadata metadata() {
@@ -26,23 +84,29 @@ public final class InMemoryPack {
     }
 
     public @NotNull InMemoryPack withAsset(@NotNull InMemoryAsset asset) {
-        if (assets.containsKey(Objects.requireNonNull(asset.location())) && assets.containsValue(asset)) return this;
-        Map<ResourceLocation, InMemoryAsset> assets = new HashMap<>(this.assets);
-        assets.put(asset.location(), asset);
-        return new InMemoryPack(metadata, assets);
+        ResourceLocation location = Objects.requireNonNull(asset.location());
+        InMemoryAsset existing = assets.get(location);
+        if (existing == asset) return this;
+        if (existing != null && existing.isSerialized() && asset.isSerialized() && existing.sameContent(asset)) return this;
+        return new InMemoryPack(metadata, assets.with(location, asset), providers);
     }
 
     public @NotNull InMemoryPack withoutAsset(@NotNull ResourceLocation location) {
-        if (!assets.containsKey(Objects.requireNonNull(location))) return this;
-        Map<ResourceLocation, InMemoryAsset> assets = new HashMap<>(this.assets);
-        assets.remove(location);
-        return new InMemoryPack(metadata, assets);
+        PersistentHashMap<ResourceLocation, InMemoryAsset> assets = this.assets.without(Objects.requireNonNull(location));
+        if (assets == this.assets) return this;
+        return new InMemoryPack(metadata, assets, providers);
     }
 
     public @NotNull InMemoryPack withoutAsset(@NotNull InMemoryAsset asset) {
         return withoutAsset(asset.location());
     }
 
+    public @NotNull InMemoryPack withProvider(@NotNull InMemoryResourceProvider provider) {
+        List<InMemoryResourceProvider> providers = new ArrayList<>(this.providers);
+        providers.add(Objects.requireNonNull(provider));
+        return new InMemoryPack(metadata, assets, List.copyOf(providers));
+    }
+
     public @NotNull <T extends InMemoryAsset> Optional<T> asset(@NotNull ResourceLocation location, @NotNull Class<T> type) {
         InMemoryAsset asset = assets.get(Objects.requireNonNull(location));
         if (asset == null) return Optional.empty();
@@ -55,6 +119,14 @@ public final class InMemoryPack {
     }
 
     public @NotNull Collection<InMemoryAsset> assets() {
-        return Collections.unmodifiableCollection(assets.values());
+        return Collections.unmodifiableCollection(assets.asMap().values());
+    }
+
+    public @NotNull List<InMemoryResourceProvider> providers() {
+        return providers;
+    }
+
+    public int size() {
+        return assets.size();
     }
-}
\ No newline at end of file
+}
@@ -9,6 +9,7 @@ import net.minecraft.server.packs.PackType;
 import net.minecraft.server.packs.repository.PackSource;
 import net.minecraft.util.ResourceLocationPattern;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
@@ -19,14 +20,21 @@ public final class InMemoryPackMetadata {
     private final @NotNull PackSource source;
     private final @NotNull PackSelectionConfig config;
     private final @NotNull InMemoryPackMetadataAsset asset;
+    private final @NotNull InMemoryPackStorage storage;
+    private final boolean deferred;
+    private final @Nullable String cacheKey;
 
     private InMemoryPackMetadata(@NotNull String id, @NotNull Component title, @NotNull PackSource source,
-                                 @NotNull PackSelectionConfig config, @NotNull InMemoryPackMetadataAsset asset) {
+                                 @NotNull PackSelectionConfig config, @NotNull InMemoryPackMetadataAsset asset,
+                                 @NotNull InMemoryPackStorage storage, boolean deferred, @Nullable String cacheKey) {
         this.id = id;
         this.title = title;
         this.source = source;
         this.config = config;
         this.asset = asset;
+        this.storage = storage;
+        this.deferred = deferred;
+        this.cacheKey = cacheKey;
     }
 
     public static @NotNull InMemoryPackMetadata of(@NotNull String id, @NotNull PackType type,
@@ -41,7 +49,10 @@ public final class InMemoryPackMetadata {
                 Objects.requireNonNull(title),
                 Objects.requireNonNull(source),
                 Objects.requireNonNull(config),
-                internal
+                internal,
+                InMemoryPackStorage.HEAP,
+                false,
+                null
         );
     }
 
@@ -73,6 +84,18 @@ public final class InMemoryPackMetadata {
         return asset;
     }
 
+    public @NotNull InMemoryPackStorage storage() {
+        return storage;
+    }
+
+    public boolean deferred() {
+        return deferred;
+    }
+
+    public @NotNull Optional<String> cacheKey() {
+        return Optional.ofNullable(cacheKey);
+    }
+
     public @NotNull Collection<ResourceLocationPattern> filters() {
         return asset.filters();
     }
@@ -82,38 +105,50 @@ public final class InMemoryPackMetadata {
     }
 
     public InMemoryPackMetadata withId(@NotNull String id) {
-        return new InMemoryPackMetadata(Objects.requireNonNull(id), title, source, config, asset);
+        return new InMemoryPackMetadata(Objects.requireNonNull(id), title, source, config, asset, storage, deferred, cacheKey);
     }
 
     public InMemoryPackMetadata withTitle(@NotNull Component title) {
-        return new InMemoryPackMetadata(id, Objects.requireNonNull(title), source, config, asset);
+        return new InMemoryPackMetadata(id, Objects.requireNonNull(title), source, config, asset, storage, deferred, cacheKey);
     }
 
     public @NotNull InMemoryPackMetadata withType(@NotNull PackType type) {
-        return new InMemoryPackMetadata(id, title, source, config, asset.withType(Objects.requireNonNull(type)));
+        return new InMemoryPackMetadata(id, title, source, config, asset.withType(Objects.requireNonNull(type)), storage, deferred, cacheKey);
     }
 
     public @NotNull InMemoryPackMetadata withSource(@NotNull PackSource source) {
-        return new InMemoryPackMetadata(id, title, Objects.requireNonNull(source), config, asset);
+        return new InMemoryPackMetadata(id, title, Objects.requireNonNull(source), config, asset, storage, deferred, cacheKey);
     }
 
     public @NotNull InMemoryPackMetadata withConfig(@NotNull PackSelectionConfig config) {
-        return new InMemoryPackMetadata(id, title, source, Objects.requireNonNull(config), asset);
+        return new InMemoryPackMetadata(id, title, source, Objects.requireNonNull(config), asset, storage, deferred, cacheKey);
     }
 
     public @NotNull InMemoryPackMetadata withDescription(Component description) {
-        return new InMemoryPackMetadata(id, title, source, config, asset.withDescription(Objects.requireNonNull(description)));
+        return new InMemoryPackMetadata(id, title, source, config, asset.withDescription(Objects.requireNonNull(description)), storage, deferred, cacheKey);
+    }
+
+    public @NotNull InMemoryPackMetadata withStorage(@NotNull InMemoryPackStorage storage) {
+        return new InMemoryPackMetadata(id, title, source, config, asset, Objects.requireNonNull(storage), deferred, cacheKey);
+    }
+
+    public @NotNull InMemoryPackMetadata withDeferred(boolean deferred) {
+        return new InMemoryPackMetadata(id, title, source, config, asset, storage, deferred, cacheKey);
+    }
+
+    public @NotNull InMemoryPackMetadata withCacheKey(@Nullable String cacheKey) {
+        return new InMemoryPackMetadata(id, title, source, config, asset, storage, deferred, cacheKey);
     }
 
     public @NotNull InMemoryPackMetadata withFeature(@NotNull ResourceLocation feature) {
-        return new InMemoryPackMetadata(id, title, source, config, asset.withFeature(Objects.requireNonNull(feature)));
+        return new InMemoryPackMetadata(id, title, source, config, asset.withFeature(Objects.requireNonNull(feature)), storage, deferred, cacheKey);
     }
 
     public @NotNull InMemoryPackMetadata withFilter(@NotNull ResourceLocationPattern pattern) {
-        return new InMemoryPackMetadata(id, title, source, config, asset.withFilter(Objects.requireNonNull(pattern)));
+        return new InMemoryPackMetadata(id, title, source, config, asset.withFilter(Objects.requireNonNull(pattern)), storage, deferred, cacheKey);
     }
 
     public @NotNull InMemoryPackMetadata withLanguage(@NotNull String code, @NotNull LanguageInfo info) {
-        return new InMemoryPackMetadata(id, title, source, config, asset.withLanguage(Objects.requireNonNull(code), Objects.requireNonNull(info)));
+        return new InMemoryPackMetadata(id, title, source, config, asset.withLanguage(Objects.requireNonNull(code), Objects.requireNonNull(info)), storage, deferred, cacheKey);
     }
 }
\ No newline at end of file
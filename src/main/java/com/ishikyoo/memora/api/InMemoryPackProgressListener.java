@@ -0,0 +1,9 @@
+package com.ishikyoo.memora.api;
+
+@FunctionalInterface
+public interface InMemoryPackProgressListener {
+
+    InMemoryPackProgressListener NONE = (completed, total) -> {};
+
+    void onProgress(int completed, int total);
+}
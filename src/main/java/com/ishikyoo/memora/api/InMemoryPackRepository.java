@@ -2,63 +2,413 @@ package com.ishikyoo.memora.api;
 
 import com.ishikyoo.memora.internal.Memora;
 import com.ishikyoo.memora.internal.ModContext;
+import com.ishikyoo.memora.internal.event.PackCommitEvent;
+import com.ishikyoo.memora.internal.stats.StatsCollector;
+import com.ishikyoo.memora.internal.storage.ContentStore;
+import com.ishikyoo.memora.internal.storage.PackSnapshots;
+import com.ishikyoo.memora.internal.storage.ResourceStorage;
+import com.ishikyoo.memora.internal.storage.ResourceStorages;
+import com.ishikyoo.memora.internal.storage.SnapshotResourceStorage;
 import com.ishikyoo.memora.api.asset.InMemoryAsset;
+import com.ishikyoo.memora.api.asset.InMemoryStreamAsset;
+import com.ishikyoo.memora.api.asset.InMemoryTextureAsset;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.PackLocationInfo;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 public final class InMemoryPackRepository {
 
     private static final Logger LOGGER = ModContext.LOGGER;
 
-    private final Map<String, InMemoryPack> packs = new HashMap<>();
+    private static final int SERIALIZATION_CHUNKS_PER_THREAD = 4;
+    private static final int MIN_SERIALIZATION_CHUNK = 32;
+    private static final Executor SNAPSHOT_EXECUTOR = ForkJoinPool.commonPool();
+
+    private final Map<String, InMemoryPack> packs = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+
+    public @NotNull InMemoryPackTransaction transaction() {
+        return new InMemoryPackTransaction(this);
+    }
 
     public @NotNull Optional<InMemoryPack> addPack(@NotNull InMemoryPack pack) {
         Objects.requireNonNull(pack);
+        if (!transaction().addPack(pack).commit()) return Optional.empty();
+        return Optional.of(pack);
+    }
+
+    public @NotNull Optional<InMemoryPack> replacePack(@NotNull InMemoryPack pack) {
+        Objects.requireNonNull(pack);
+        InMemoryPack previous = packs.get(pack.metadata().id());
+        if (!transaction().replacePack(pack).commit()) return Optional.empty();
+        return Optional.ofNullable(previous);
+    }
+
+    public @NotNull Optional<InMemoryPack> removePack(@NotNull String id) {
+        Objects.requireNonNull(id);
+        InMemoryPack removed = packs.get(id);
+        if (!transaction().removePack(id).commit()) return Optional.empty();
+        return Optional.ofNullable(removed);
+    }
+
+    public @NotNull CompletableFuture<Optional<InMemoryPack>> addPackAsync(@NotNull InMemoryPack pack) {
+        return addPackAsync(pack, ForkJoinPool.commonPool(), InMemoryPackProgressListener.NONE);
+    }
+
+    public @NotNull CompletableFuture<Optional<InMemoryPack>> addPackAsync(@NotNull InMemoryPack pack,
+                                                                          @NotNull Executor executor,
+                                                                          @NotNull InMemoryPackProgressListener listener) {
+        return addPackAsync(pack, executor, publishExecutor(executor), listener);
+    }
+
+    public @NotNull CompletableFuture<Optional<InMemoryPack>> addPackAsync(@NotNull InMemoryPack pack,
+                                                                          @NotNull Executor executor,
+                                                                          @NotNull Executor publishExecutor,
+                                                                          @NotNull InMemoryPackProgressListener listener) {
+        Objects.requireNonNull(pack);
+        return transaction().addPack(pack)
+                .commitAsync(executor, publishExecutor, listener)
+                .thenApply(committed -> committed ? Optional.of(pack) : Optional.empty());
+    }
 
-        if (packs.containsKey(pack.metadata().id())) {
-            LOGGER.warn("In-memory pack already exists in repository: {}", pack.metadata().id());
-            return Optional.empty();
+    boolean commit(@NotNull List<InMemoryPackTransaction.Change> changes) {
+        if (changes.isEmpty()) return true;
+        PackCommitEvent event = new PackCommitEvent();
+        event.begin();
+        if (!validate(changes)) {
+            emit(event, changes, 0, 0, 0, false);
+            return false;
         }
 
-        packs.put(pack.metadata().id(), pack);
+        Map<String, SnapshotResourceStorage> snapshots = loadSnapshots(changes);
+        List<InMemoryAsset> assets = collectAssets(changes, snapshots);
+        long serializationStart = System.nanoTime();
+        byte[][] buffers = new byte[assets.size()][];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = assets.get(i).serialize();
+        }
+        long serializationTime = System.nanoTime() - serializationStart;
+        return store(event, changes, snapshots, buffers, serializationTime);
+    }
 
-        com.ishikyoo.memora.internal.InMemoryPack internal = new com.ishikyoo.memora.internal.InMemoryPack(
-                pack.metadata().type(),
-                new PackLocationInfo(
-                        pack.metadata().id(),
-                        pack.metadata().title(),
-                        pack.metadata().source(),
-                        Optional.empty() ),
-                pack.metadata().config()
-        );
+    @NotNull CompletableFuture<Boolean> commitAsync(@NotNull List<InMemoryPackTransaction.Change> changes,
+                                                   @NotNull Executor executor,
+                                                   @NotNull Executor publishExecutor,
+                                                   @NotNull InMemoryPackProgressListener listener) {
+        if (changes.isEmpty()) return CompletableFuture.completedFuture(true);
+        PackCommitEvent event = new PackCommitEvent();
+        event.begin();
+        if (!validate(changes)) {
+            emit(event, changes, 0, 0, 0, false);
+            return CompletableFuture.completedFuture(false);
+        }
+
+        Map<String, SnapshotResourceStorage> snapshots = loadSnapshots(changes);
+        List<InMemoryAsset> assets = collectAssets(changes, snapshots);
+        long serializationStart = System.nanoTime();
+        return serializeAsync(assets, executor, listener)
+                .thenApplyAsync(buffers -> stage(changes, snapshots, buffers,
+                        System.nanoTime() - serializationStart), executor)
+                .thenApplyAsync(staged -> complete(event, changes, snapshots, staged), publishExecutor);
+    }
+
+    static @NotNull Executor publishExecutor(@NotNull Executor executor) {
+        Objects.requireNonNull(executor);
+        Executor mainThread = Memora.mainThread;
+        return mainThread != null ? mainThread : executor;
+    }
+
+    private boolean store(@NotNull PackCommitEvent event, @NotNull List<InMemoryPackTransaction.Change> changes,
+                          @NotNull Map<String, SnapshotResourceStorage> snapshots,
+                          byte[][] buffers, long serializationTime) {
+        return complete(event, changes, snapshots, stage(changes, snapshots, buffers, serializationTime));
+    }
+
+    private static @NotNull Staged stage(@NotNull List<InMemoryPackTransaction.Change> changes,
+                                         @NotNull Map<String, SnapshotResourceStorage> snapshots,
+                                         byte[][] buffers, long serializationTime) {
+        long storageStart = System.nanoTime();
+        Map<String, com.ishikyoo.memora.internal.InMemoryPack> prepared = prepare(changes, snapshots, buffers);
+        return new Staged(prepared, buffers, serializationTime, System.nanoTime() - storageStart);
+    }
+
+    private boolean complete(@NotNull PackCommitEvent event, @NotNull List<InMemoryPackTransaction.Change> changes,
+                             @NotNull Map<String, SnapshotResourceStorage> snapshots, @NotNull Staged staged) {
+        boolean committed = publish(changes, staged.packs());
+        emit(event, changes, staged.buffers().length, staged.serializationTime(), staged.storageTime(), committed);
+        if (committed) writeSnapshots(changes, snapshots, staged.buffers());
+        return committed;
+    }
+
+    private record Staged(@NotNull Map<String, com.ishikyoo.memora.internal.InMemoryPack> packs,
+                          byte[][] buffers, long serializationTime, long storageTime) {
+    }
+
+    private static void emit(@NotNull PackCommitEvent event, @NotNull List<InMemoryPackTransaction.Change> changes,
+                             int assets, long serializationTime, long storageTime, boolean committed) {
+        event.end();
+        if (!event.shouldCommit()) return;
+        int removals = 0;
+        for (InMemoryPackTransaction.Change change : changes) {
+            if (change.operation() == InMemoryPackTransaction.Operation.REMOVE) removals++;
+        }
+        event.set(changes.size() - removals, removals, assets, serializationTime, storageTime, committed);
+        event.commit();
+    }
+
+    private static @NotNull Map<String, SnapshotResourceStorage> loadSnapshots(
+            @NotNull List<InMemoryPackTransaction.Change> changes) {
+        Map<String, SnapshotResourceStorage> snapshots = new HashMap<>();
+        for (InMemoryPackTransaction.Change change : changes) {
+            if (change.operation() == InMemoryPackTransaction.Operation.REMOVE) continue;
+            Optional<String> key = change.pack().metadata().cacheKey();
+            if (key.isEmpty()) continue;
+            PackSnapshots.load(change.id(), key.get()).ifPresent(snapshot -> snapshots.put(change.id(), snapshot));
+        }
+        return snapshots;
+    }
+
+    private static void writeSnapshots(@NotNull List<InMemoryPackTransaction.Change> changes,
+                                       @NotNull Map<String, SnapshotResourceStorage> snapshots, byte[][] buffers) {
+        int offset = 0;
+        for (InMemoryPackTransaction.Change change : changes) {
+            if (!isSerialized(change, snapshots)) continue;
+            List<InMemoryAsset> assets = storedAssets(change.pack());
+            Optional<String> key = change.pack().metadata().cacheKey();
+            if (key.isPresent()) {
+                int from = offset;
+                CompletableFuture.runAsync(() -> {
+                    Map<ResourceLocation, byte[]> resources = new LinkedHashMap<>();
+                    int index = from;
+                    for (InMemoryAsset asset : assets) {
+                        resources.put(asset.location(), buffers[index++]);
+                    }
+                    PackSnapshots.write(change.id(), key.get(), resources);
+                }, SNAPSHOT_EXECUTOR);
+            }
+            offset += assets.size();
+        }
+    }
+
+    private static boolean isSerialized(@NotNull InMemoryPackTransaction.Change change,
+                                        @NotNull Map<String, SnapshotResourceStorage> snapshots) {
+        return change.operation() != InMemoryPackTransaction.Operation.REMOVE
+                && !change.pack().metadata().deferred()
+                && !snapshots.containsKey(change.id());
+    }
+
+    private static @NotNull List<InMemoryAsset> collectAssets(@NotNull List<InMemoryPackTransaction.Change> changes,
+                                                              @NotNull Map<String, SnapshotResourceStorage> snapshots) {
+        List<InMemoryAsset> assets = new ArrayList<>();
+        for (InMemoryPackTransaction.Change change : changes) {
+            if (!isSerialized(change, snapshots)) continue;
+            assets.addAll(storedAssets(change.pack()));
+        }
+        return assets;
+    }
 
+    private static @NotNull List<InMemoryAsset> storedAssets(@NotNull InMemoryPack pack) {
+        List<InMemoryAsset> assets = new ArrayList<>(pack.size());
         for (InMemoryAsset asset : pack.assets()) {
-            byte[] buffer = asset.bytes();
-            internal.addResource(asset.location(), buffer);
+            if (!(asset instanceof InMemoryStreamAsset) && !(asset instanceof InMemoryTextureAsset)) assets.add(asset);
         }
+        return assets;
+    }
 
-        internal.create();
+    private static @NotNull CompletableFuture<byte[][]> serializeAsync(@NotNull List<InMemoryAsset> assets,
+                                                                     @NotNull Executor executor,
+                                                                     @NotNull InMemoryPackProgressListener listener) {
+        int total = assets.size();
+        byte[][] buffers = new byte[total][];
+        if (total == 0) return CompletableFuture.completedFuture(buffers);
 
-        Memora.repository.addPack(internal);
+        int chunks = Math.min(total, Runtime.getRuntime().availableProcessors() * SERIALIZATION_CHUNKS_PER_THREAD);
+        int chunkSize = Math.max(MIN_SERIALIZATION_CHUNK, (total + chunks - 1) / chunks);
+        AtomicInteger completed = new AtomicInteger();
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int start = 0; start < total; start += chunkSize) {
+            int from = start;
+            int to = Math.min(total, start + chunkSize);
+            tasks.add(CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    buffers[i] = assets.get(i).serialize();
+                }
+                listener.onProgress(completed.addAndGet(to - from), total);
+            }, executor));
+        }
+        return CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).thenApply(ignored -> buffers);
+    }
 
-        return Optional.of(pack);
+    private static @NotNull Map<String, com.ishikyoo.memora.internal.InMemoryPack> prepare(
+            @NotNull List<InMemoryPackTransaction.Change> changes,
+            @NotNull Map<String, SnapshotResourceStorage> snapshots, byte[][] buffers) {
+        Map<String, com.ishikyoo.memora.internal.InMemoryPack> prepared = new LinkedHashMap<>();
+        int offset = 0;
+        try {
+            for (InMemoryPackTransaction.Change change : changes) {
+                if (change.operation() == InMemoryPackTransaction.Operation.REMOVE) continue;
+                SnapshotResourceStorage snapshot = snapshots.get(change.id());
+                if (snapshot != null) {
+                    prepared.put(change.id(), restoreInternalPack(change.pack(), snapshot));
+                    continue;
+                }
+                List<InMemoryAsset> assets = storedAssets(change.pack());
+                prepared.put(change.id(), createInternalPack(change.pack(), assets, buffers, offset));
+                if (isSerialized(change, snapshots)) offset += assets.size();
+            }
+        } catch (RuntimeException e) {
+            prepared.values().forEach(com.ishikyoo.memora.internal.InMemoryPack::close);
+            throw e;
+        }
+        return prepared;
     }
 
-    public @NotNull Optional<InMemoryPack> removePack(@NotNull String id) {
-        Objects.requireNonNull(id);
+    private boolean publish(@NotNull List<InMemoryPackTransaction.Change> changes,
+                            @NotNull Map<String, com.ishikyoo.memora.internal.InMemoryPack> prepared) {
+        List<com.ishikyoo.memora.internal.InMemoryPack> displaced;
+        synchronized (lock) {
+            if (!validate(changes)) {
+                prepared.values().forEach(com.ishikyoo.memora.internal.InMemoryPack::close);
+                return false;
+            }
+            List<String> removals = new ArrayList<>();
+            for (InMemoryPackTransaction.Change change : changes) {
+                if (change.operation() == InMemoryPackTransaction.Operation.REMOVE) removals.add(change.id());
+            }
+            displaced = Memora.repository.commit(prepared.values(), removals);
+            for (InMemoryPackTransaction.Change change : changes) {
+                if (change.operation() == InMemoryPackTransaction.Operation.REMOVE) {
+                    packs.remove(change.id());
+                } else {
+                    packs.put(change.id(), change.pack());
+                }
+            }
+        }
+        displaced.forEach(com.ishikyoo.memora.internal.InMemoryPack::close);
+        Memora.reloads.changed(true);
+        return true;
+    }
+
+    private boolean validate(@NotNull List<InMemoryPackTransaction.Change> changes) {
+        for (InMemoryPackTransaction.Change change : changes) {
+            boolean exists = packs.containsKey(change.id());
+            switch (change.operation()) {
+                case ADD -> {
+                    if (exists) {
+                        LOGGER.warn("In-memory pack already exists in repository: {}", change.id());
+                        return false;
+                    }
+                }
+                case REPLACE, REMOVE -> {
+                    if (!exists) {
+                        LOGGER.warn("Attempted to {} non-existent in-memory pack: {}",
+                                change.operation() == InMemoryPackTransaction.Operation.REPLACE ? "replace" : "remove",
+                                change.id());
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static @NotNull com.ishikyoo.memora.internal.InMemoryPack createInternalPack(@NotNull InMemoryPack pack,
+                                                                                       @NotNull Collection<InMemoryAsset> assets,
+                                                                                       byte[][] buffers, int offset) {
+        com.ishikyoo.memora.internal.InMemoryPack internal = newInternalPack(pack,
+                ResourceStorages.create(pack.metadata().storage(), pack.metadata().id()));
+
+        try {
+            if (pack.metadata().deferred()) {
+                for (InMemoryAsset asset : assets) {
+                    internal.addDeferredResource(asset.location(), asset::serialize);
+                }
+            } else {
+                int index = offset;
+                for (InMemoryAsset asset : assets) {
+                    internal.addResource(asset.location(), buffers[index++]);
+                }
+            }
+
+            addStreams(internal, pack);
+            addTextures(internal, pack);
+            addProviders(internal, pack);
+            internal.create();
+        } catch (RuntimeException e) {
+            internal.close();
+            throw e;
+        }
+        return internal;
+    }
 
-        InMemoryPack removed = packs.remove(id);
-        if (removed == null) {
-            LOGGER.warn("Attempted to remove non-existent in-memory pack: {}", id);
-            return Optional.empty();
+    private static @NotNull com.ishikyoo.memora.internal.InMemoryPack restoreInternalPack(@NotNull InMemoryPack pack,
+                                                                                        @NotNull SnapshotResourceStorage snapshot) {
+        com.ishikyoo.memora.internal.InMemoryPack internal = newInternalPack(pack, snapshot);
+        try {
+            for (SnapshotResourceStorage.Entry entry : snapshot.entries()) {
+                internal.addStoredResource(entry.location(), entry.buffer());
+            }
+            addStreams(internal, pack);
+            addTextures(internal, pack);
+            addProviders(internal, pack);
+            internal.create();
+        } catch (RuntimeException e) {
+            internal.close();
+            throw e;
         }
+        return internal;
+    }
+
+    private static void addStreams(@NotNull com.ishikyoo.memora.internal.InMemoryPack internal, @NotNull InMemoryPack pack) {
+        for (InMemoryAsset asset : pack.assets()) {
+            if (asset instanceof InMemoryStreamAsset stream) {
+                internal.addStreamResource(stream.location(), stream.source(), stream.spill());
+            }
+        }
+    }
+
+    private static void addTextures(@NotNull com.ishikyoo.memora.internal.InMemoryPack internal, @NotNull InMemoryPack pack) {
+        for (InMemoryAsset asset : pack.assets()) {
+            if (!(asset instanceof InMemoryTextureAsset texture)) continue;
+            internal.addTextureResource(texture.location(), texture.pixels(), texture.width(), texture.height());
+            if (pack.asset(texture.animationLocation()).isPresent()) continue;
+            texture.animationBytes().ifPresent(bytes -> internal.addResource(texture.animationLocation(), bytes));
+        }
+    }
 
-        Memora.repository.removePack(id);
+    private static void addProviders(@NotNull com.ishikyoo.memora.internal.InMemoryPack internal, @NotNull InMemoryPack pack) {
+        for (InMemoryResourceProvider provider : pack.providers()) {
+            internal.addProvider(new com.ishikyoo.memora.internal.InMemoryResourceProvider(
+                    provider.namespace(),
+                    path -> provider.pattern().matcher(path).matches(),
+                    provider::paths,
+                    location -> provider.provide(location).<Supplier<byte[]>>map(asset -> asset::serialize).orElse(null),
+                    provider.memoization()
+            ));
+        }
+    }
 
-        return Optional.of(removed);
+    private static @NotNull com.ishikyoo.memora.internal.InMemoryPack newInternalPack(@NotNull InMemoryPack pack,
+                                                                                    @NotNull ResourceStorage storage) {
+        return new com.ishikyoo.memora.internal.InMemoryPack(
+                pack.metadata().type(),
+                new PackLocationInfo(
+                        pack.metadata().id(),
+                        pack.metadata().title(),
+                        pack.metadata().source(),
+                        Optional.empty() ),
+                pack.metadata().config(),
+                storage
+        );
     }
 
     public @NotNull Optional<InMemoryPack> getPack(@NotNull String id) {
@@ -69,4 +419,17 @@ public final class InMemoryPackRepository {
     public @NotNull Collection<InMemoryPack> getPacks() {
         return Collections.unmodifiableCollection(packs.values());
     }
+
+    public @NotNull CompletableFuture<Void> reloadChangedResources() {
+        return Memora.reloads.request();
+    }
+
+    public @NotNull MemoraStats getStats(int limit) {
+        return StatsCollector.collect(Memora.repository, limit);
+    }
+
+    public @NotNull InMemoryDeduplicationStats getDeduplicationStats() {
+        ContentStore.Stats stats = ContentStore.GLOBAL.stats();
+        return new InMemoryDeduplicationStats(stats.entries(), stats.references(), stats.uniqueBytes(), stats.referencedBytes());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.ishikyoo.memora.api;
+
+public enum InMemoryPackStorage {
+    HEAP,
+    DIRECT,
+    MAPPED,
+    COMPRESSED
+}
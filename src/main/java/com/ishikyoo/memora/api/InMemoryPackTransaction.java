@@ -0,0 +1,124 @@
+package com.ishikyoo.memora.api;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public final class InMemoryPackTransaction {
+
+    enum Operation {
+        ADD,
+        REPLACE,
+        REMOVE
+    }
+
+    record Change(@NotNull Operation operation, @NotNull String id, InMemoryPack pack) {
+    }
+
+    private final @NotNull InMemoryPackRepository repository;
+    private final @NotNull Map<String, Change> changes = new LinkedHashMap<>();
+    private boolean committed;
+
+    InMemoryPackTransaction(@NotNull InMemoryPackRepository repository) {
+        this.repository = repository;
+    }
+
+    public @NotNull InMemoryPackTransaction addPack(@NotNull InMemoryPack pack) {
+        Objects.requireNonNull(pack);
+        return stage(new Change(Operation.ADD, pack.metadata().id(), pack));
+    }
+
+    public @NotNull InMemoryPackTransaction replacePack(@NotNull InMemoryPack pack) {
+        Objects.requireNonNull(pack);
+        return stage(new Change(Operation.REPLACE, pack.metadata().id(), pack));
+    }
+
+    public @NotNull InMemoryPackTransaction removePack(@NotNull String id) {
+        Objects.requireNonNull(id);
+        return stage(new Change(Operation.REMOVE, id, null));
+    }
+
+    public int size() {
+        return changes.size();
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    public boolean commit() {
+        return repository.commit(seal());
+    }
+
+    public @NotNull CompletableFuture<Boolean> commitAsync(@NotNull Executor executor) {
+        return commitAsync(executor, InMemoryPackProgressListener.NONE);
+    }
+
+    public @NotNull CompletableFuture<Boolean> commitAsync(@NotNull Executor executor,
+                                                           @NotNull InMemoryPackProgressListener listener) {
+        return commitAsync(executor, InMemoryPackRepository.publishExecutor(executor), listener);
+    }
+
+    public @NotNull CompletableFuture<Boolean> commitAsync(@NotNull Executor executor,
+                                                           @NotNull Executor publishExecutor,
+                                                           @NotNull InMemoryPackProgressListener listener) {
+        Objects.requireNonNull(executor);
+        Objects.requireNonNull(publishExecutor);
+        Objects.requireNonNull(listener);
+        return repository.commitAsync(seal(), executor, publishExecutor, listener);
+    }
+
+    private synchronized @NotNull List<Change> seal() {
+        ensureOpen();
+        committed = true;
+        return List.copyOf(changes.values());
+    }
+
+    private synchronized @NotNull InMemoryPackTransaction stage(@NotNull Change change) {
+        ensureOpen();
+        Change staged = changes.get(change.id());
+        if (staged == null) {
+            changes.put(change.id(), change);
+            return this;
+        }
+        Change merged = merge(staged, change);
+        if (merged == null) {
+            changes.remove(change.id());
+        } else {
+            changes.put(change.id(), merged);
+        }
+        return this;
+    }
+
+    private static @Nullable Change merge(@NotNull Change staged, @NotNull Change change) {
+        return switch (staged.operation()) {
+            case ADD -> switch (change.operation()) {
+                case ADD, REPLACE -> new Change(Operation.ADD, change.id(), change.pack());
+                case REMOVE -> null;
+            };
+            case REPLACE -> switch (change.operation()) {
+                case ADD -> throw conflict(staged, change);
+                case REPLACE, REMOVE -> change;
+            };
+            case REMOVE -> switch (change.operation()) {
+                case ADD -> new Change(Operation.REPLACE, change.id(), change.pack());
+                case REPLACE, REMOVE -> throw conflict(staged, change);
+            };
+        };
+    }
+
+    private static @NotNull IllegalStateException conflict(@NotNull Change staged, @NotNull Change change) {
+        return new IllegalStateException("Cannot " + change.operation().name().toLowerCase(Locale.ROOT)
+                + " in-memory pack " + change.id() + " after staging a " + staged.operation().name().toLowerCase(Locale.ROOT)
+                + " in the same transaction");
+    }
+
+    private void ensureOpen() {
+        if (committed) {
+            throw new IllegalStateException("In-memory pack transaction was already committed");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ishikyoo.memora.api;
+
+import com.ishikyoo.memora.api.asset.InMemoryAsset;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+public final class InMemoryResourceProvider {
+
+    private final @NotNull String namespace;
+    private final @NotNull Pattern pattern;
+    private final @NotNull Supplier<? extends Iterable<String>> paths;
+    private final @NotNull Function<ResourceLocation, ? extends InMemoryAsset> generator;
+    private final int memoization;
+
+    private InMemoryResourceProvider(@NotNull String namespace, @NotNull Pattern pattern,
+                                     @NotNull Supplier<? extends Iterable<String>> paths,
+                                     @NotNull Function<ResourceLocation, ? extends InMemoryAsset> generator,
+                                     int memoization) {
+        this.namespace = namespace;
+        this.pattern = pattern;
+        this.paths = paths;
+        this.generator = generator;
+        this.memoization = memoization;
+    }
+
+    public static @NotNull InMemoryResourceProvider of(@NotNull String namespace, @NotNull String pattern,
+                                                       @NotNull Supplier<? extends Iterable<String>> paths,
+                                                       @NotNull Function<ResourceLocation, ? extends InMemoryAsset> generator) {
+        return new InMemoryResourceProvider(
+                Objects.requireNonNull(namespace),
+                Pattern.compile(Objects.requireNonNull(pattern)),
+                Objects.requireNonNull(paths),
+                Objects.requireNonNull(generator),
+                0
+        );
+    }
+
+    public @NotNull String namespace() {
+        return namespace;
+    }
+
+    public @NotNull Pattern pattern() {
+        return pattern;
+    }
+
+    public int memoization() {
+        return memoization;
+    }
+
+    public boolean matches(@NotNull ResourceLocation location) {
+        return location.getNamespace().equals(namespace) && pattern.matcher(location.getPath()).matches();
+    }
+
+    public @NotNull Iterable<String> paths() {
+        return paths.get();
+    }
+
+    public @NotNull Optional<InMemoryAsset> provide(@NotNull ResourceLocation location) {
+        if (!matches(Objects.requireNonNull(location))) return Optional.empty();
+        return Optional.ofNullable(generator.apply(location));
+    }
+
+    public @NotNull InMemoryResourceProvider withMemoization(int maximumSize) {
+        if (maximumSize < 0) throw new IllegalArgumentException("Memoization size must not be negative: " + maximumSize);
+        return new InMemoryResourceProvider(namespace, pattern, paths, generator, maximumSize);
+    }
+}
@@ -0,0 +1,56 @@
+package com.ishikyoo.memora.api;
+
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.PackType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+
+public record MemoraStats(@NotNull List<Pack> packs,
+                          @NotNull Map<PackType, Integer> resourcesByType,
+                          @NotNull Map<String, Long> storedBytesByStorage,
+                          @NotNull Map<String, Serialization> serialization,
+                          @NotNull InMemoryDeduplicationStats deduplication) {
+
+    public int resources() {
+        return packs.stream().mapToInt(Pack::resources).sum();
+    }
+
+    public long storedBytes() {
+        return packs.stream().mapToLong(Pack::storedBytes).sum();
+    }
+
+    public record Pack(@NotNull String id,
+                       @NotNull PackType type,
+                       @NotNull String storage,
+                       long storedBytes,
+                       int resources,
+                       int unmaterialized,
+                       @NotNull Map<String, Integer> namespaces,
+                       @NotNull List<Resource> largest,
+                       @NotNull List<Resource> mostOpened,
+                       @NotNull List<ResourceLocation> neverOpened,
+                       int neverOpenedCount,
+                       @Nullable Compression compression) {
+    }
+
+    public record Compression(long compressedBytes, int hotEntries, long hotBytes, long hits, long misses) {
+
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    public record Resource(@NotNull ResourceLocation location, int size, int opens) {
+    }
+
+    public record Serialization(long assets, long nanos) {
+
+        public long averageNanos() {
+            return assets == 0 ? 0 : nanos / assets;
+        }
+    }
+}
@@ -1,17 +1,20 @@
 package com.ishikyoo.memora.api.asset;
 
+import com.google.common.hash.HashCode;
+import com.ishikyoo.memora.internal.stats.SerializationTimings;
+import com.ishikyoo.memora.internal.storage.ContentStore;
 import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Arrays;
 import java.util.Objects;
 
 public abstract class InMemoryAsset {
 
     protected final @NotNull Key key;
-    private @Nullable ResourceLocation location;
-    protected byte @Nullable [] bytes;
+    private volatile @Nullable ResourceLocation location;
+    protected volatile byte @Nullable [] bytes;
+    private volatile @Nullable HashCode digest;
 
     protected InMemoryAsset(@NotNull Key key, byte @Nullable [] bytes) {
         this.key = key;
@@ -23,42 +26,76 @@ public abstract class InMemoryAsset {
     }
 
     public @NotNull ResourceLocation location() {
+        ResourceLocation location = this.location;
         if (location == null) {
             location = key.location();
+            this.location = location;
         }
         return location;
     }
 
     public byte @NotNull [] bytes() {
-        try {
-            if (bytes == null) {
-                bytes = toBytes();
-            }
+        byte[] bytes = this.bytes;
+        if (bytes != null) return bytes;
+        synchronized (this) {
+            bytes = this.bytes;
+            if (bytes != null) return bytes;
+            bytes = convert();
+            this.bytes = bytes;
             return bytes;
+        }
+    }
+
+    public byte @NotNull [] serialize() {
+        byte[] bytes = this.bytes;
+        return bytes != null ? bytes : convert();
+    }
+
+    private byte @NotNull [] convert() {
+        long start = System.nanoTime();
+        byte[] bytes;
+        try {
+            bytes = toBytes();
         } catch (Exception e) {
             throw new RuntimeException(
                     "Failed to convert asset to bytes: type=" + key(), e
             );
         }
+        SerializationTimings.record(getClass(), System.nanoTime() - start);
+        return bytes;
+    }
+
+    public @NotNull HashCode digest() {
+        HashCode digest = this.digest;
+        if (digest == null) {
+            digest = ContentStore.hash(serialize());
+            this.digest = digest;
+        }
+        return digest;
+    }
+
+    public boolean isSerialized() {
+        return bytes != null;
+    }
+
+    public boolean sameContent(@NotNull InMemoryAsset other) {
+        if (this == Objects.requireNonNull(other)) return true;
+        return key.equals(other.key) && digest().equals(other.digest());
     }
 
     @Override
     public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof InMemoryAsset that)) return false;
-        return key.equals(that.key) &&
-                Arrays.equals(bytes, that.bytes);
+        return this == o;
     }
 
     @Override
     public int hashCode() {
-        int result = Objects.hash(key);
-        result = 31 * result + Arrays.hashCode(bytes);
-        return result;
+        return key.hashCode();
     }
 
     @Override
     public String toString() {
+        byte[] bytes = this.bytes;
         return "InMemoryAsset{" +
                 "key=" + key +
                 ", bytes=" + (bytes == null ? "null" : (bytes.length + " bytes")) +
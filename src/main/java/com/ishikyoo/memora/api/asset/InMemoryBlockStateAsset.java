@@ -1,26 +1,111 @@
 package com.ishikyoo.memora.api.asset;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonWriter;
+import com.ishikyoo.memora.internal.util.PersistentHashMap;
 import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.function.Function;
 
 
 public final class InMemoryBlockStateAsset extends InMemoryJSONAsset {
 
-    private final @NotNull Map<String, Variant> variants;
-    private final @NotNull Set<Multipart> multipart;
+    private record Ordered<T>(long order, @NotNull T value) {
+    }
+
+    private record Generator(@NotNull List<Property> properties, @NotNull Function<State, @Nullable Variant> mapping) {
+    }
+
+    public static final class Builder {
+
+        private final @NotNull InMemoryAsset.Key key;
+        private @NotNull PersistentHashMap.Transient<String, Ordered<Variant>> variants;
+        private @NotNull PersistentHashMap.Transient<Multipart, Long> multipart;
+        private final @NotNull List<Property> properties;
+        private @Nullable Function<State, @Nullable Variant> mapping;
+        private long sequence;
+
+        private Builder(@NotNull InMemoryAsset.Key key,
+                        @NotNull PersistentHashMap<String, Ordered<Variant>> variants,
+                        @NotNull PersistentHashMap<Multipart, Long> multipart,
+                        @Nullable Generator generator, long sequence) {
+            this.key = key;
+            this.variants = variants.asTransient();
+            this.multipart = multipart.asTransient();
+            this.properties = generator != null ? new ArrayList<>(generator.properties()) : new ArrayList<>();
+            this.mapping = generator != null ? generator.mapping() : null;
+            this.sequence = sequence;
+        }
+
+        public @NotNull Builder property(@NotNull Property property) {
+            Objects.requireNonNull(property);
+            for (Property existing : properties) {
+                if (existing.name().equals(property.name())) {
+                    throw new IllegalArgumentException("Duplicate block state property: " + property.name());
+                }
+            }
+            properties.add(property);
+            return this;
+        }
+
+        public @NotNull Builder properties(@NotNull Collection<Property> properties) {
+            Objects.requireNonNull(properties).forEach(this::property);
+            return this;
+        }
+
+        public @NotNull Builder variants(@NotNull Function<State, @Nullable Variant> mapping) {
+            this.mapping = Objects.requireNonNull(mapping);
+            return this;
+        }
+
+        public @NotNull Builder variant(@NotNull String key, @NotNull Variant variant) {
+            Ordered<Variant> existing = variants.get(Objects.requireNonNull(key));
+            long order = existing != null ? existing.order() : sequence++;
+            variants.put(key, new Ordered<>(order, Objects.requireNonNull(variant)));
+            return this;
+        }
+
+        public @NotNull Builder multipart(@NotNull Multipart multipart) {
+            if (!this.multipart.containsKey(Objects.requireNonNull(multipart))) this.multipart.put(multipart, sequence++);
+            return this;
+        }
+
+        public @NotNull InMemoryBlockStateAsset build() {
+            if (!properties.isEmpty() && mapping == null) {
+                throw new IllegalStateException("Block state properties declared without a variant mapping: " + key);
+            }
+            Generator generator = mapping != null ? new Generator(List.copyOf(properties), mapping) : null;
+            PersistentHashMap<String, Ordered<Variant>> variants = this.variants.persistent();
+            PersistentHashMap<Multipart, Long> multipart = this.multipart.persistent();
+            this.variants = variants.asTransient();
+            this.multipart = multipart.asTransient();
+            return new InMemoryBlockStateAsset(key, variants, multipart, generator, sequence);
+        }
+    }
+
+    private final @NotNull PersistentHashMap<String, Ordered<Variant>> variants;
+    private final @NotNull PersistentHashMap<Multipart, Long> multipart;
+    private final @Nullable Generator generator;
+    private final long sequence;
 
     private InMemoryBlockStateAsset(@NotNull InMemoryAsset.Key key,
-                                    @NotNull Map<String, Variant> variants,
-                                    @NotNull Set<Multipart> multipart) {
+                                    @NotNull PersistentHashMap<String, Ordered<Variant>> variants,
+                                    @NotNull PersistentHashMap<Multipart, Long> multipart,
+                                    @Nullable Generator generator,
+                                    long sequence) {
         super(key);
-        this.variants = Collections.unmodifiableMap(variants);
-        this.multipart = Collections.unmodifiableSet(multipart);
+        this.variants = variants;
+        this.multipart = multipart;
+        this.generator = generator;
+        this.sequence = sequence;
     }
 
     public static @NotNull InMemoryBlockStateAsset of(@NotNull ResourceLocation location) {
@@ -30,57 +115,337 @@ public final class InMemoryBlockStateAsset extends InMemoryJSONAsset {
 
     public static @NotNull InMemoryBlockStateAsset of(@NotNull String namespace, @NotNull String name) {
         InMemoryAsset.Key key = Key.of(Objects.requireNonNull(namespace), "blockstates", Objects.requireNonNull(name), "json");
-        return new InMemoryBlockStateAsset(key, new LinkedHashMap<>(), new LinkedHashSet<>());
+        return new InMemoryBlockStateAsset(key, PersistentHashMap.empty(), PersistentHashMap.empty(), null, 0);
+    }
+
+    public static @NotNull Builder builder(@NotNull ResourceLocation location) {
+        Objects.requireNonNull(location);
+        return builder(location.getNamespace(), location.getPath());
+    }
+
+    public static @NotNull Builder builder(@NotNull String namespace, @NotNull String name) {
+        InMemoryAsset.Key key = Key.of(Objects.requireNonNull(namespace), "blockstates", Objects.requireNonNull(name), "json");
+        return new Builder(key, PersistentHashMap.empty(), PersistentHashMap.empty(), null, 0);
+    }
+
+    public @NotNull Builder toBuilder() {
+        return new Builder(key(), variants, multipart, generator, sequence);
     }
 
     public @NotNull InMemoryBlockStateAsset withVariant(@NotNull String key, @NotNull Variant variant) {
-        if (variants.containsKey(Objects.requireNonNull(key)) && variants.containsValue(Objects.requireNonNull(variant))) return this;
-        Map<String, Variant> copy = new LinkedHashMap<>(variants);
-        copy.put(key, variant);
-        return new InMemoryBlockStateAsset(this.key(), copy, new LinkedHashSet<>());
+        Ordered<Variant> existing = variants.get(Objects.requireNonNull(key));
+        if (existing != null && existing.value().equals(Objects.requireNonNull(variant))) return this;
+        long order = existing != null ? existing.order() : sequence;
+        return new InMemoryBlockStateAsset(this.key(), variants.with(key, new Ordered<>(order, variant)), multipart, generator, sequence + 1);
+    }
+
+    public @NotNull InMemoryBlockStateAsset withoutVariant(@NotNull String key) {
+        PersistentHashMap<String, Ordered<Variant>> variants = this.variants.without(Objects.requireNonNull(key));
+        if (variants == this.variants) return this;
+        return new InMemoryBlockStateAsset(this.key(), variants, multipart, generator, sequence);
     }
 
     public @NotNull InMemoryBlockStateAsset withMultipart(@NotNull Multipart multipart) {
-        if (this.multipart.contains(multipart)) return this;
-        Set<Multipart> copy = new LinkedHashSet<>(this.multipart);
-        copy.add(multipart);
-        return new InMemoryBlockStateAsset(this.key(), new LinkedHashMap<>(), copy);
+        if (this.multipart.containsKey(Objects.requireNonNull(multipart))) return this;
+        return new InMemoryBlockStateAsset(this.key(), variants, this.multipart.with(multipart, sequence), generator, sequence + 1);
+    }
+
+    public @NotNull InMemoryBlockStateAsset withoutMultipart(@NotNull Multipart multipart) {
+        PersistentHashMap<Multipart, Long> parts = this.multipart.without(Objects.requireNonNull(multipart));
+        if (parts == this.multipart) return this;
+        return new InMemoryBlockStateAsset(this.key(), variants, parts, generator, sequence);
+    }
+
+    public @NotNull Optional<Variant> variant(@NotNull String key) {
+        Ordered<Variant> variant = variants.get(Objects.requireNonNull(key));
+        if (variant != null) return Optional.of(variant.value());
+        if (generator == null) return Optional.empty();
+        return State.parse(generator.properties(), key).map(generator.mapping());
+    }
+
+    public @NotNull List<Property> properties() {
+        return generator != null ? generator.properties() : List.of();
+    }
+
+    public @NotNull Iterable<State> states() {
+        if (generator == null) return List.of();
+        List<Property> properties = generator.properties();
+        return () -> new StateIterator(properties);
+    }
+
+    public long stateCount() {
+        if (generator == null) return 0;
+        long count = 1;
+        for (Property property : generator.properties()) {
+            count *= property.values().size();
+        }
+        return count;
+    }
+
+    public int variantCount() {
+        return variants.size();
+    }
+
+    public int multipartCount() {
+        return multipart.size();
     }
 
     @Override
     protected @NotNull JsonElement toJson() {
         JsonObject root = new JsonObject();
 
-        if (!variants.isEmpty()) {
+        if (!variants.isEmpty() || generator != null) {
             JsonObject v = new JsonObject();
-            variants.forEach((k, variant) -> v.add(k, variant.toJson()));
+            for (Map.Entry<String, Ordered<Variant>> entry : orderedVariants()) {
+                v.add(entry.getKey(), entry.getValue().value().toJson());
+            }
+            for (State state : states()) {
+                String key = state.key();
+                if (variants.containsKey(key)) continue;
+                Variant variant = generator.mapping().apply(state);
+                if (variant != null) v.add(key, variant.toJson());
+            }
             root.add("variants", v);
         }
 
         if (!multipart.isEmpty()) {
             JsonArray parts = new JsonArray();
-            multipart.forEach(m -> parts.add(m.toJson()));
+            orderedMultipart().forEach(e -> parts.add(e.getKey().toJson()));
             root.add("multipart", parts);
         }
 
         return root;
     }
 
+    @Override
+    protected void writeJson(@NotNull JsonWriter writer) throws IOException {
+        writer.beginObject();
+
+        if (!variants.isEmpty() || generator != null) {
+            writer.name("variants").beginObject();
+            for (Map.Entry<String, Ordered<Variant>> entry : orderedVariants()) {
+                writer.name(entry.getKey());
+                entry.getValue().value().write(writer);
+            }
+            for (State state : states()) {
+                String key = state.key();
+                if (variants.containsKey(key)) continue;
+                Variant variant = generator.mapping().apply(state);
+                if (variant == null) continue;
+                writer.name(key);
+                variant.write(writer);
+            }
+            writer.endObject();
+        }
+
+        if (!multipart.isEmpty()) {
+            writer.name("multipart").beginArray();
+            for (Map.Entry<Multipart, Long> entry : orderedMultipart()) {
+                entry.getKey().write(writer);
+            }
+            writer.endArray();
+        }
+
+        writer.endObject();
+    }
+
+    private @NotNull List<Map.Entry<String, Ordered<Variant>>> orderedVariants() {
+        List<Map.Entry<String, Ordered<Variant>>> entries = new ArrayList<>(variants.size());
+        variants.iterator().forEachRemaining(entries::add);
+        entries.sort(Comparator.comparingLong(e -> e.getValue().order()));
+        return entries;
+    }
+
+    private @NotNull List<Map.Entry<Multipart, Long>> orderedMultipart() {
+        List<Map.Entry<Multipart, Long>> entries = new ArrayList<>(multipart.size());
+        multipart.iterator().forEachRemaining(entries::add);
+        entries.sort(Map.Entry.comparingByValue());
+        return entries;
+    }
+
+    public record Property(@NotNull String name, @NotNull List<String> values) {
+
+        public Property {
+            Objects.requireNonNull(name);
+            values = List.copyOf(values);
+            if (values.isEmpty()) throw new IllegalArgumentException("Block state property has no values: " + name);
+            if (new HashSet<>(values).size() != values.size()) {
+                throw new IllegalArgumentException("Block state property has duplicate values: " + name + "=" + values);
+            }
+        }
+
+        public static @NotNull Property of(@NotNull String name, @NotNull String... values) {
+            return new Property(name, List.of(values));
+        }
+
+        public static @NotNull Property of(@NotNull String name, @NotNull Collection<String> values) {
+            return new Property(name, List.copyOf(values));
+        }
+
+        public static @NotNull Property ofBoolean(@NotNull String name) {
+            return of(name, "true", "false");
+        }
+
+        public static @NotNull Property ofInteger(@NotNull String name, int min, int max) {
+            if (min > max) throw new IllegalArgumentException("Invalid block state property range: " + name + "=" + min + ".." + max);
+            List<String> values = new ArrayList<>(max - min + 1);
+            for (int value = min; value <= max; value++) {
+                values.add(Integer.toString(value));
+            }
+            return new Property(name, values);
+        }
+
+        public static <T extends Comparable<T>> @NotNull Property of(
+                @NotNull net.minecraft.world.level.block.state.properties.Property<T> property) {
+            Objects.requireNonNull(property);
+            List<String> values = new ArrayList<>();
+            for (T value : property.getPossibleValues()) {
+                values.add(property.getName(value));
+            }
+            return new Property(property.getName(), values);
+        }
+
+        int indexOf(@NotNull String value) {
+            return values.indexOf(value);
+        }
+    }
+
+    public static final class State {
+
+        private final @NotNull List<Property> properties;
+        private final int @NotNull [] indices;
+        private @Nullable String key;
+
+        private State(@NotNull List<Property> properties, int @NotNull [] indices) {
+            this.properties = properties;
+            this.indices = indices;
+        }
+
+        static @NotNull Optional<State> parse(@NotNull List<Property> properties, @NotNull String key) {
+            int[] indices = new int[properties.size()];
+            Arrays.fill(indices, -1);
+            if (!key.isEmpty()) {
+                for (String pair : key.split(",")) {
+                    int separator = pair.indexOf('=');
+                    if (separator < 0) return Optional.empty();
+                    int property = propertyIndex(properties, pair.substring(0, separator));
+                    if (property < 0 || indices[property] >= 0) return Optional.empty();
+                    int value = properties.get(property).indexOf(pair.substring(separator + 1));
+                    if (value < 0) return Optional.empty();
+                    indices[property] = value;
+                }
+            }
+            for (int index : indices) {
+                if (index < 0) return Optional.empty();
+            }
+            return Optional.of(new State(properties, indices));
+        }
+
+        public @NotNull String get(@NotNull String property) {
+            int index = propertyIndex(properties, Objects.requireNonNull(property));
+            if (index < 0) throw new IllegalArgumentException("Unknown block state property: " + property);
+            return properties.get(index).values().get(indices[index]);
+        }
+
+        public boolean is(@NotNull String property, @NotNull String value) {
+            return get(property).equals(value);
+        }
+
+        public @NotNull String key() {
+            String key = this.key;
+            if (key == null) {
+                StringBuilder builder = new StringBuilder();
+                for (int i = 0; i < indices.length; i++) {
+                    if (i > 0) builder.append(',');
+                    Property property = properties.get(i);
+                    builder.append(property.name()).append('=').append(property.values().get(indices[i]));
+                }
+                key = builder.toString();
+                this.key = key;
+            }
+            return key;
+        }
+
+        private static int propertyIndex(@NotNull List<Property> properties, @NotNull String name) {
+            for (int i = 0; i < properties.size(); i++) {
+                if (properties.get(i).name().equals(name)) return i;
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof State state)) return false;
+            return properties.equals(state.properties) && Arrays.equals(indices, state.indices);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * properties.hashCode() + Arrays.hashCode(indices);
+        }
+
+        @Override
+        public String toString() {
+            return "State[" + key() + "]";
+        }
+    }
+
+    private static final class StateIterator implements Iterator<State> {
+
+        private final @NotNull List<Property> properties;
+        private final int @NotNull [] indices;
+        private boolean hasNext = true;
+
+        private StateIterator(@NotNull List<Property> properties) {
+            this.properties = properties;
+            this.indices = new int[properties.size()];
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public @NotNull State next() {
+            if (!hasNext) throw new NoSuchElementException();
+            State state = new State(properties, indices.clone());
+            hasNext = false;
+            for (int i = indices.length - 1; i >= 0; i--) {
+                if (++indices[i] < properties.get(i).values().size()) {
+                    hasNext = true;
+                    break;
+                }
+                indices[i] = 0;
+            }
+            return state;
+        }
+    }
+
+    private static @NotNull List<Model> distinct(@NotNull Collection<Model> models) {
+        return List.copyOf(new LinkedHashSet<>(models));
+    }
+
     public static class Variant {
-        private final @NotNull Set<Model> models;
+        private static final Interner<Variant> INTERNER = Interners.newWeakInterner();
+
+        private final @NotNull List<Model> models;
+        private final int hash;
 
-        private Variant(@NotNull Set<Model> models) {
-            this.models = Collections.unmodifiableSet(new LinkedHashSet<>(models));
+        private Variant(@NotNull List<Model> models) {
+            this.models = models;
+            this.hash = models.hashCode();
         }
 
         public static Variant of(@NotNull Model model) {
             Objects.requireNonNull(model);
-            return new Variant(Collections.singleton(model));
+            return INTERNER.intern(new Variant(List.of(model)));
         }
 
         public static Variant of(@NotNull Collection<Model> models) {
             Objects.requireNonNull(models);
-            return new Variant(new LinkedHashSet<>(models));
+            return INTERNER.intern(new Variant(distinct(models)));
         }
 
         JsonElement toJson() {
@@ -92,16 +457,28 @@ public final class InMemoryBlockStateAsset extends InMemoryJSONAsset {
             return arr;
         }
 
+        void write(@NotNull JsonWriter writer) throws IOException {
+            if (models.size() == 1) {
+                models.iterator().next().write(writer);
+                return;
+            }
+            writer.beginArray();
+            for (Model model : models) {
+                model.write(writer);
+            }
+            writer.endArray();
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
             if (!(o instanceof Variant v)) return false;
-            return models.equals(v.models);
+            return hash == v.hash && models.equals(v.models);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(models);
+            return hash;
         }
 
         @Override
@@ -111,9 +488,12 @@ public final class InMemoryBlockStateAsset extends InMemoryJSONAsset {
     }
 
     public static class Model {
+        private static final Interner<Model> INTERNER = Interners.newWeakInterner();
+
         private final @NotNull ResourceLocation path;
         private final int x, y, weight;
         private final boolean uvlock;
+        private final int hash;
 
         private Model(@NotNull ResourceLocation path, int x, int y, boolean uvlock, int weight) {
             if (weight < 1) throw new IllegalArgumentException("Weight must be >= 1");
@@ -122,37 +502,42 @@ public final class InMemoryBlockStateAsset extends InMemoryJSONAsset {
             this.y = y;
             this.uvlock = uvlock;
             this.weight = weight;
+            this.hash = Objects.hash(path, x, y, uvlock, weight);
+        }
+
+        private static @NotNull Model intern(@NotNull ResourceLocation path, int x, int y, boolean uvlock, int weight) {
+            return INTERNER.intern(new Model(path, x, y, uvlock, weight));
         }
 
         public static @NotNull Model of(@NotNull ResourceLocation path) {
-            return new Model(Objects.requireNonNull(path), 0, 0, false, 1);
+            return intern(Objects.requireNonNull(path), 0, 0, false, 1);
         }
 
         public @NotNull Model withPath(@NotNull ResourceLocation path) {
             if (Objects.requireNonNull(path).equals(this.path)) return this;
-            return new Model(path, x, y, uvlock, weight);
+            return intern(path, x, y, uvlock, weight);
         }
 
         public @NotNull Model withX(int degrees) {
             int clampDegrees = clampDegrees(degrees);
             if (clampDegrees == this.x) return this;
-            return new Model(path, clampDegrees, y, uvlock, weight);
+            return intern(path, clampDegrees, y, uvlock, weight);
         }
 
         public @NotNull Model withY(int degrees) {
             int clampDegrees = clampDegrees(degrees);
             if (clampDegrees == this.y) return this;
-            return new Model(path, x, clampDegrees, uvlock, weight);
+            return intern(path, x, clampDegrees, uvlock, weight);
         }
 
         public @NotNull Model withUVLock(boolean uvlock) {
             if (uvlock == this.uvlock) return this;
-            return new Model(path, x, y, uvlock, weight);
+            return intern(path, x, y, uvlock, weight);
         }
 
         public @NotNull Model withWeight(int weight) {
             if (weight == this.weight) return this;
-            return new Model(path, x, y, uvlock, weight);
+            return intern(path, x, y, uvlock, weight);
         }
 
         public @NotNull ResourceLocation path() { return path; }
@@ -171,6 +556,16 @@ public final class InMemoryBlockStateAsset extends InMemoryJSONAsset {
             return o;
         }
 
+        void write(@NotNull JsonWriter writer) throws IOException {
+            writer.beginObject();
+            writer.name("model").value(path.toString());
+            if (x != 0) writer.name("x").value(x);
+            if (y != 0) writer.name("y").value(y);
+            if (uvlock) writer.name("uvlock").value(true);
+            if (weight != 1) writer.name("weight").value(weight);
+            writer.endObject();
+        }
+
         private static int clampDegrees(int degrees) {
             int normalized = ((degrees % 360) + 360) % 360;
             return (Math.round(normalized / 90f) * 90) % 360;
@@ -180,13 +575,13 @@ public final class InMemoryBlockStateAsset extends InMemoryJSONAsset {
         public boolean equals(Object o) {
             if (this == o) return true;
             if (!(o instanceof Model model)) return false;
-            return x == model.x && y == model.y && weight == model.weight &&
+            return hash == model.hash && x == model.x && y == model.y && weight == model.weight &&
                     uvlock == model.uvlock && path.equals(model.path);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(path, x, y, uvlock, weight);
+            return hash;
         }
 
         @Override
@@ -198,20 +593,20 @@ public final class InMemoryBlockStateAsset extends InMemoryJSONAsset {
 
     public static class Multipart {
         private final @Nullable Condition when;
-        private final @NotNull Set<Model> apply;
+        private final @NotNull List<Model> apply;
 
-        private Multipart(@Nullable Condition when, @NotNull Set<Model> apply) {
+        private Multipart(@Nullable Condition when, @NotNull List<Model> apply) {
             this.when = when;
-            this.apply = Collections.unmodifiableSet(apply);
+            this.apply = apply;
         }
 
         public static @NotNull Multipart of(@Nullable Condition when, @NotNull Model apply) {
-            return new Multipart(when, Collections.singleton(Objects.requireNonNull(apply)));
+            return new Multipart(when, List.of(Objects.requireNonNull(apply)));
         }
 
         public static @NotNull Multipart of(@Nullable Condition when, @NotNull Collection<Model> apply) {
             Objects.requireNonNull(apply);
-            return new Multipart(when, new LinkedHashSet<>(apply));
+            return new Multipart(when, distinct(apply));
         }
 
         public @NotNull Multipart withWhen(@Nullable Condition when) {
@@ -221,14 +616,14 @@ public final class InMemoryBlockStateAsset extends InMemoryJSONAsset {
 
         public @NotNull Multipart withApply(@NotNull Model model) {
             Objects.requireNonNull(model);
-            if (apply.size() == 1 && apply.iterator().next().equals(model)) return this;
-            return new Multipart(when, Collections.singleton(model));
+            if (apply.size() == 1 && apply.get(0).equals(model)) return this;
+            return new Multipart(when, List.of(model));
         }
 
         public @NotNull Multipart withApply(@NotNull Collection<Model> models) {
-            Objects.requireNonNull(models);
-            if (new LinkedHashSet<>(models).equals(apply)) return this;
-            return new Multipart(when, new LinkedHashSet<>(models));
+            List<Model> apply = distinct(Objects.requireNonNull(models));
+            if (apply.equals(this.apply)) return this;
+            return new Multipart(when, apply);
         }
 
         public @NotNull Multipart withoutWhen() {
@@ -249,6 +644,25 @@ public final class InMemoryBlockStateAsset extends InMemoryJSONAsset {
             return o;
         }
 
+        void write(@NotNull JsonWriter writer) throws IOException {
+            writer.beginObject();
+            if (when != null) {
+                writer.name("when");
+                when.write(writer);
+            }
+            writer.name("apply");
+            if (apply.size() == 1) {
+                apply.iterator().next().write(writer);
+            } else {
+                writer.beginArray();
+                for (Model model : apply) {
+                    model.write(writer);
+                }
+                writer.endArray();
+            }
+            writer.endObject();
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -269,6 +683,10 @@ public final class InMemoryBlockStateAsset extends InMemoryJSONAsset {
 
     public interface Condition {
         JsonElement toJson();
+
+        default void write(@NotNull JsonWriter writer) throws IOException {
+            GSON.toJson(toJson(), writer);
+        }
     }
 
     public static class PropertyCondition implements Condition {
@@ -293,6 +711,22 @@ public final class InMemoryBlockStateAsset extends InMemoryJSONAsset {
             return o;
         }
 
+        @Override
+        public void write(@NotNull JsonWriter writer) throws IOException {
+            writer.beginObject();
+            writer.name(key);
+            if (values.size() == 1) {
+                writer.value(values.iterator().next());
+            } else {
+                writer.beginArray();
+                for (String value : values) {
+                    writer.value(value);
+                }
+                writer.endArray();
+            }
+            writer.endObject();
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -337,6 +771,17 @@ public final class InMemoryBlockStateAsset extends InMemoryJSONAsset {
             return o;
         }
 
+        @Override
+        public void write(@NotNull JsonWriter writer) throws IOException {
+            writer.beginObject();
+            writer.name(op).beginArray();
+            for (Condition child : children) {
+                child.write(writer);
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
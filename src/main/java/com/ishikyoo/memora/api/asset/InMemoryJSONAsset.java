@@ -3,12 +3,20 @@ package com.ishikyoo.memora.api.asset;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonWriter;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
 public abstract class InMemoryJSONAsset extends InMemoryTextAsset {
 
+    public static final String PRETTY_PRINTING_PROPERTY = "memora.json.pretty";
+
+    protected static final boolean PRETTY_PRINTING = Boolean.getBoolean(PRETTY_PRINTING_PROPERTY);
+
     protected static final Gson GSON = new GsonBuilder()
-            .setPrettyPrinting()
             .create();
 
     protected InMemoryJSONAsset(@NotNull Key key) {
@@ -17,15 +25,36 @@ public abstract class InMemoryJSONAsset extends InMemoryTextAsset {
 
     protected abstract @NotNull JsonElement toJson();
 
+    protected void writeJson(@NotNull JsonWriter writer) throws IOException {
+        GSON.toJson(toJson(), writer);
+    }
+
     @Override
-    protected @NotNull String toText() {
+    protected void writeText(@NotNull Writer writer) throws IOException {
         try {
-            JsonElement json = toJson();
-            return GSON.toJson(json);
+            JsonWriter json = new JsonWriter(writer);
+            if (PRETTY_PRINTING) json.setIndent("  ");
+            writeJson(json);
+            json.flush();
+        } catch (IOException e) {
+            throw e;
         } catch (Exception e) {
             throw new IllegalStateException(
                     "Failed to serialize JSON asset: " + key(), e
             );
         }
     }
+
+    @Override
+    protected @NotNull String toText() {
+        try {
+            StringWriter writer = new StringWriter();
+            writeText(writer);
+            return writer.toString();
+        } catch (IOException e) {
+            throw new IllegalStateException(
+                    "Failed to serialize JSON asset: " + key(), e
+            );
+        }
+    }
 }
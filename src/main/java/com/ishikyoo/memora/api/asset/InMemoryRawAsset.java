@@ -4,6 +4,7 @@ import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 public final class InMemoryRawAsset extends InMemoryAsset {
@@ -12,7 +13,7 @@ public final class InMemoryRawAsset extends InMemoryAsset {
         super(key, data);
     }
 
-    public @NotNull InMemoryRawAsset of(@NotNull ResourceLocation location, byte @NotNull [] data) {
+    public static @NotNull InMemoryRawAsset of(@NotNull ResourceLocation location, byte @NotNull [] data) {
         Key key = Key.of(Objects.requireNonNull(location));
         return new InMemoryRawAsset(key, Objects.requireNonNull(data));
     }
@@ -30,7 +31,18 @@ public final class InMemoryRawAsset extends InMemoryAsset {
 
     @Override
     protected byte @NotNull [] toBytes() {
-        assert bytes != null;
-        return bytes;
+        return Objects.requireNonNull(bytes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof InMemoryRawAsset that)) return false;
+        return key.equals(that.key) && Arrays.equals(bytes, that.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode();
     }
 }
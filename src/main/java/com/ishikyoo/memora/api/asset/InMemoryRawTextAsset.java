@@ -3,6 +3,7 @@ package com.ishikyoo.memora.api.asset;
 import net.minecraft.resources.ResourceLocation;
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 public final class InMemoryRawTextAsset extends InMemoryTextAsset {
@@ -30,8 +31,25 @@ public final class InMemoryRawTextAsset extends InMemoryTextAsset {
         return new InMemoryRawTextAsset(key(), text);
     }
 
+    @Override
+    protected byte @NotNull [] toBytes() {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
     @Override
     protected @NotNull String toText() {
         return text;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof InMemoryRawTextAsset that)) return false;
+        return key.equals(that.key) && text.equals(that.text);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * key.hashCode() + text.hashCode();
+    }
 }
\ No newline at end of file
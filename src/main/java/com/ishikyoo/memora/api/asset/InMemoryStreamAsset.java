@@ -0,0 +1,148 @@
+package com.ishikyoo.memora.api.asset;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.IoSupplier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+public final class InMemoryStreamAsset extends InMemoryAsset {
+
+    private static final int DIGEST_BUFFER_SIZE = 64 * 1024;
+
+    private final @NotNull IoSupplier<InputStream> source;
+    private final boolean spill;
+    private volatile @Nullable HashCode digest;
+
+    private InMemoryStreamAsset(@NotNull Key key, @NotNull IoSupplier<InputStream> source, boolean spill) {
+        super(key, null);
+        this.source = source;
+        this.spill = spill;
+    }
+
+    public static @NotNull InMemoryStreamAsset of(@NotNull ResourceLocation location, @NotNull IoSupplier<InputStream> source) {
+        Key key = Key.of(Objects.requireNonNull(location));
+        return new InMemoryStreamAsset(key, Objects.requireNonNull(source), false);
+    }
+
+    public static @NotNull InMemoryStreamAsset ofChunks(@NotNull ResourceLocation location,
+                                                        @NotNull Supplier<? extends Iterator<byte[]>> chunks) {
+        Objects.requireNonNull(chunks);
+        return of(location, () -> new ChunkInputStream(chunks.get()));
+    }
+
+    public @NotNull IoSupplier<InputStream> source() {
+        return source;
+    }
+
+    public boolean spill() {
+        return spill;
+    }
+
+    public @NotNull InputStream open() throws IOException {
+        return source.get();
+    }
+
+    public @NotNull InMemoryStreamAsset withLocation(@NotNull ResourceLocation location) {
+        if (Objects.requireNonNull(location).equals(location())) return this;
+        return new InMemoryStreamAsset(Key.of(location), source, spill);
+    }
+
+    public @NotNull InMemoryStreamAsset withSource(@NotNull IoSupplier<InputStream> source) {
+        if (Objects.requireNonNull(source) == this.source) return this;
+        return new InMemoryStreamAsset(key(), source, spill);
+    }
+
+    public @NotNull InMemoryStreamAsset withSpill(boolean spill) {
+        if (spill == this.spill) return this;
+        return new InMemoryStreamAsset(key(), source, spill);
+    }
+
+    @Override
+    public @NotNull HashCode digest() {
+        HashCode digest = this.digest;
+        if (digest == null) {
+            Hasher hasher = Hashing.murmur3_128().newHasher();
+            byte[] buffer = new byte[DIGEST_BUFFER_SIZE];
+            try (InputStream stream = open()) {
+                int read;
+                while ((read = stream.read(buffer)) != -1) {
+                    hasher.putBytes(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to digest streamed asset: " + key(), e);
+            }
+            digest = hasher.hash();
+            this.digest = digest;
+        }
+        return digest;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof InMemoryStreamAsset that)) return false;
+        return key.equals(that.key) && source == that.source && spill == that.spill;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * key.hashCode() + System.identityHashCode(source);
+    }
+
+    @Override
+    protected byte @NotNull [] toBytes() {
+        try (InputStream stream = open()) {
+            return stream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read streamed asset: " + key(), e);
+        }
+    }
+
+    private static final class ChunkInputStream extends InputStream {
+
+        private final @NotNull Iterator<byte[]> chunks;
+        private byte @Nullable [] chunk;
+        private int position;
+
+        private ChunkInputStream(@NotNull Iterator<byte[]> chunks) {
+            this.chunks = Objects.requireNonNull(chunks);
+        }
+
+        @Override
+        public int read() {
+            if (!advance()) return -1;
+            return Objects.requireNonNull(chunk)[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte @NotNull [] bytes, int offset, int length) {
+            Objects.checkFromIndexSize(offset, length, bytes.length);
+            if (length == 0) return 0;
+            if (!advance()) return -1;
+            byte[] chunk = Objects.requireNonNull(this.chunk);
+            int count = Math.min(length, chunk.length - position);
+            System.arraycopy(chunk, position, bytes, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean advance() {
+            while (chunk == null || position == chunk.length) {
+                if (!chunks.hasNext()) return false;
+                chunk = Objects.requireNonNull(chunks.next());
+                position = 0;
+            }
+            return true;
+        }
+    }
+}
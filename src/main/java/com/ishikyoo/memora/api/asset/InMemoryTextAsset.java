@@ -1,8 +1,10 @@
 package com.ishikyoo.memora.api.asset;
 
+import com.ishikyoo.memora.internal.util.Utf8Sink;
 import org.jetbrains.annotations.NotNull;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.Writer;
 
 public abstract class InMemoryTextAsset extends InMemoryAsset {
 
@@ -12,9 +14,9 @@ public abstract class InMemoryTextAsset extends InMemoryAsset {
 
     @Override
     protected byte @NotNull [] toBytes() {
-        try {
-            String text = text();
-            return text.getBytes(StandardCharsets.UTF_8);
+        try (Utf8Sink sink = Utf8Sink.acquire()) {
+            writeText(sink);
+            return sink.toByteArray();
         } catch (Exception e) {
             throw new RuntimeException(
                     "Failed to convert text to bytes: " + key(), e
@@ -32,5 +34,9 @@ public abstract class InMemoryTextAsset extends InMemoryAsset {
         }
     }
 
+    protected void writeText(@NotNull Writer writer) throws IOException {
+        writer.write(toText());
+    }
+
     protected abstract @NotNull String toText();
-}
\ No newline at end of file
+}
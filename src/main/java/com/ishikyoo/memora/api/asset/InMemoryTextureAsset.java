@@ -0,0 +1,129 @@
+package com.ishikyoo.memora.api.asset;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.gson.JsonObject;
+import com.ishikyoo.memora.internal.util.PngEncoder;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Optional;
+
+public final class InMemoryTextureAsset extends InMemoryAsset {
+
+    public static final String ANIMATION_SUFFIX = ".mcmeta";
+
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private final @NotNull ByteBuffer pixels;
+    private final int width;
+    private final int height;
+    private final @Nullable JsonObject animation;
+    private volatile @Nullable HashCode digest;
+
+    private InMemoryTextureAsset(@NotNull Key key, @NotNull ByteBuffer pixels, int width, int height,
+                                 @Nullable JsonObject animation) {
+        super(key, null);
+        this.pixels = pixels;
+        this.width = width;
+        this.height = height;
+        this.animation = animation;
+    }
+
+    public static @NotNull InMemoryTextureAsset of(@NotNull ResourceLocation location, int width, int height,
+                                                   @NotNull ByteBuffer rgba) {
+        Key key = Key.of(Objects.requireNonNull(location));
+        return new InMemoryTextureAsset(key, checkPixels(rgba, width, height), width, height, null);
+    }
+
+    public static @NotNull InMemoryTextureAsset ofArgb(@NotNull ResourceLocation location, int width, int height,
+                                                       int @NotNull [] argb) {
+        Objects.requireNonNull(argb);
+        if ((long) width * height != argb.length) {
+            throw new IllegalArgumentException("Expected " + (long) width * height + " pixels, but got " + argb.length);
+        }
+        ByteBuffer rgba = ByteBuffer.allocate(argb.length * BYTES_PER_PIXEL).order(ByteOrder.BIG_ENDIAN);
+        for (int color : argb) {
+            rgba.putInt(color << 8 | color >>> 24);
+        }
+        return of(location, width, height, rgba.flip());
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    public @NotNull ByteBuffer pixels() {
+        return pixels.duplicate();
+    }
+
+    public @NotNull Optional<JsonObject> animation() {
+        return Optional.ofNullable(animation).map(JsonObject::deepCopy);
+    }
+
+    public @NotNull ResourceLocation animationLocation() {
+        ResourceLocation location = location();
+        return location.withPath(location.getPath() + ANIMATION_SUFFIX);
+    }
+
+    public @NotNull Optional<byte[]> animationBytes() {
+        if (animation == null) return Optional.empty();
+        JsonObject root = new JsonObject();
+        root.add("animation", animation.deepCopy());
+        return Optional.of(root.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public @NotNull InMemoryTextureAsset withLocation(@NotNull ResourceLocation location) {
+        if (Objects.requireNonNull(location).equals(location())) return this;
+        return new InMemoryTextureAsset(Key.of(location), pixels, width, height, animation);
+    }
+
+    public @NotNull InMemoryTextureAsset withPixels(int width, int height, @NotNull ByteBuffer rgba) {
+        return new InMemoryTextureAsset(key(), checkPixels(rgba, width, height), width, height, animation);
+    }
+
+    public @NotNull InMemoryTextureAsset withAnimation(@Nullable JsonObject animation) {
+        if (Objects.equals(animation, this.animation)) return this;
+        return new InMemoryTextureAsset(key(), pixels, width, height, animation == null ? null : animation.deepCopy());
+    }
+
+    @Override
+    public @NotNull HashCode digest() {
+        HashCode digest = this.digest;
+        if (digest == null) {
+            Hasher hasher = Hashing.murmur3_128().newHasher()
+                    .putInt(width)
+                    .putInt(height)
+                    .putBytes(pixels.duplicate());
+            if (animation != null) hasher.putString(animation.toString(), StandardCharsets.UTF_8);
+            digest = hasher.hash();
+            this.digest = digest;
+        }
+        return digest;
+    }
+
+    @Override
+    protected byte @NotNull [] toBytes() {
+        return PngEncoder.encode(pixels.duplicate(), width, height);
+    }
+
+    private static @NotNull ByteBuffer checkPixels(@NotNull ByteBuffer rgba, int width, int height) {
+        Objects.requireNonNull(rgba);
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException("Invalid texture size: " + width + "x" + height);
+        long expected = (long) width * height * BYTES_PER_PIXEL;
+        if (rgba.remaining() != expected) {
+            throw new IllegalArgumentException("Expected " + expected + " pixel bytes, but got " + rgba.remaining());
+        }
+        return rgba.slice().asReadOnlyBuffer();
+    }
+}
@@ -1,20 +1,30 @@
 package com.ishikyoo.memora.internal;
 
+import com.ishikyoo.memora.internal.event.PackCreateEvent;
+import com.ishikyoo.memora.internal.storage.HeapResourceStorage;
+import com.ishikyoo.memora.internal.storage.ResourceBuffer;
+import com.ishikyoo.memora.internal.storage.ResourceStorage;
 import net.minecraft.SharedConstants;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.PackLocationInfo;
+import net.minecraft.server.packs.PackResources;
 import net.minecraft.server.packs.PackSelectionConfig;
 import net.minecraft.server.packs.PackType;
 import net.minecraft.server.packs.repository.Pack;
 import net.minecraft.server.packs.repository.PackCompatibility;
+import net.minecraft.server.packs.resources.IoSupplier;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 public final class InMemoryPack {
 
@@ -29,9 +39,14 @@ public final class InMemoryPack {
 
     public InMemoryPack(@NotNull PackType type, @NotNull PackLocationInfo location,
                         @NotNull PackSelectionConfig config) {
+        this(type, location, config, new HeapResourceStorage());
+    }
+
+    public InMemoryPack(@NotNull PackType type, @NotNull PackLocationInfo location,
+                        @NotNull PackSelectionConfig config, @NotNull ResourceStorage storage) {
         this.type = type;
         this.location = location;
-        this.resources = new InMemoryPackResources(type, location);
+        this.resources = new InMemoryPackResources(type, location, storage);
         supplier = new InMemoryPackResources.Supplier(resources);
         this.config = config;
     }
@@ -41,17 +56,50 @@ public final class InMemoryPack {
             LOGGER.warn("Trying to create a already created In-Memory Pack: {}", resources.location().id());
         }
 
+        PackCreateEvent event = new PackCreateEvent();
+        event.begin();
+
         int format = SharedConstants.getCurrentVersion().packVersion(type);
+        long metadataStart = System.nanoTime();
         Pack.Metadata resourcesMetadata = Pack.readPackMetadata(resources.location(), supplier, format);
+        long metadataTime = System.nanoTime() - metadataStart;
         Pack.Metadata metadata = Objects.requireNonNullElseGet(resourcesMetadata, InMemoryPack::createDefaultMetadata);
 
         base = new Pack(resources.location(), supplier, metadata, config);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.set(location.id(), resources.getResourcesCount(), metadataTime);
+            event.commit();
+        }
     }
 
     public Optional<InMemoryResource> addResource(@NotNull ResourceLocation location, byte @NotNull [] buffer) {
         return resources.addResource(location, buffer);
     }
 
+    public Optional<InMemoryResource> addDeferredResource(@NotNull ResourceLocation location, @NotNull Supplier<byte[]> source) {
+        return resources.addDeferredResource(location, source);
+    }
+
+    public Optional<InMemoryResource> addStreamResource(@NotNull ResourceLocation location,
+                                                        @NotNull IoSupplier<InputStream> source, boolean spill) {
+        return resources.addStreamResource(location, source, spill);
+    }
+
+    public Optional<InMemoryResource> addTextureResource(@NotNull ResourceLocation location,
+                                                         @NotNull ByteBuffer pixels, int width, int height) {
+        return resources.addTextureResource(location, pixels, width, height);
+    }
+
+    public Optional<InMemoryResource> addStoredResource(@NotNull ResourceLocation location, @NotNull ResourceBuffer buffer) {
+        return resources.addStoredResource(location, buffer);
+    }
+
+    public boolean addProvider(@NotNull InMemoryResourceProvider provider) {
+        return resources.addProvider(provider);
+    }
+
     public Optional<InMemoryResource> removeResource(@NotNull ResourceLocation location) {
         return resources.removeResource(location);
     }
@@ -60,6 +108,22 @@ public final class InMemoryPack {
         return resources.containsResource(location);
     }
 
+    public boolean isDirty() {
+        return resources.isDirty();
+    }
+
+    public @NotNull Set<ResourceLocation> drainDirtyResources() {
+        return resources.drainDirty();
+    }
+
+    public boolean hasPinned() {
+        return resources.hasPinned();
+    }
+
+    public @NotNull Optional<InMemoryPackResources> repin(@NotNull PackResources current) {
+        return resources.repin(current);
+    }
+
     public @NotNull PackType type() {
         return type;
     }
@@ -68,6 +132,10 @@ public final class InMemoryPack {
         return location;
     }
 
+    public @NotNull InMemoryPackResources resources() {
+        return resources;
+    }
+
     public @NotNull Optional<Pack> base() {
         return Optional.ofNullable(base);
     }
@@ -76,6 +144,10 @@ public final class InMemoryPack {
         return supplier.openFull(resources.location(), null);
     }
 
+    public void close() {
+        resources.dispose();
+    }
+
     private static Pack.Metadata createDefaultMetadata() {
         return new Pack.Metadata(
                 Component.literal("The in-memory pack of Memora"),
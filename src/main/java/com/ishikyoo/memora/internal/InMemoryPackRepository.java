@@ -1,66 +1,183 @@
 package com.ishikyoo.memora.internal;
 
+import com.ishikyoo.memora.internal.util.PersistentHashMap;
+import net.minecraft.server.packs.repository.Pack;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 
 @ApiStatus.Internal
 public final class InMemoryPackRepository {
 
-    private final @NotNull Map<String, InMemoryPack> available = new HashMap<>();
-    private @NotNull Map<String, InMemoryPack> selected = new LinkedHashMap<>();
+    private final @NotNull AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
 
     public @NotNull Optional<InMemoryPack> addPack(@NotNull InMemoryPack pack) {
         String id = pack.location().id();
-        if (available.containsKey(id)) {
-            return Optional.empty();
+        if (pack.base().isEmpty()) {
+            pack.create();
         }
-        InMemoryPack added = available.put(id, pack);
-        return Optional.ofNullable(added);
+        Snapshot current;
+        do {
+            current = snapshot.get();
+            if (current.available.containsKey(id)) {
+                return Optional.empty();
+            }
+        } while (!snapshot.compareAndSet(current, current.withAvailable(current.available.with(id, pack))));
+        return Optional.of(pack);
     }
 
     public @NotNull Optional<InMemoryPack> removePack(@NotNull String id) {
-        InMemoryPack removed = available.remove(id);
-        return Optional.ofNullable(removed);
+        Snapshot current;
+        InMemoryPack removed;
+        do {
+            current = snapshot.get();
+            removed = current.available.get(id);
+            if (removed == null) {
+                return Optional.empty();
+            }
+        } while (!snapshot.compareAndSet(current, current.withAvailable(current.available.without(id))));
+        return Optional.of(removed);
     }
 
     public @NotNull Optional<InMemoryPack> removePack(@NotNull InMemoryPack pack) {
         return removePack(pack.location().id());
     }
 
+    public @NotNull List<InMemoryPack> commit(@NotNull Collection<InMemoryPack> additions, @NotNull Collection<String> removals) {
+        for (InMemoryPack pack : additions) {
+            if (pack.base().isEmpty()) {
+                pack.create();
+            }
+        }
+        Snapshot current;
+        List<InMemoryPack> displaced;
+        Snapshot next;
+        do {
+            current = snapshot.get();
+            displaced = new ArrayList<>();
+            PersistentHashMap.Transient<String, InMemoryPack> available = current.available.asTransient();
+            for (String id : removals) {
+                InMemoryPack removed = available.get(id);
+                if (removed == null) continue;
+                displaced.add(removed);
+                available.remove(id);
+            }
+            for (InMemoryPack pack : additions) {
+                String id = pack.location().id();
+                InMemoryPack replaced = available.get(id);
+                if (replaced != null && replaced != pack) displaced.add(replaced);
+                available.put(id, pack);
+            }
+            next = current.withAvailable(available.persistent());
+        } while (!snapshot.compareAndSet(current, next));
+        return displaced;
+    }
+
     public @NotNull Optional<InMemoryPack> getPack(@NotNull String id) {
-        return Optional.ofNullable(available.get(id));
+        return Optional.ofNullable(snapshot.get().available.get(id));
     }
 
     public boolean containsPack(@NotNull String id) {
-        return available.containsKey(id);
+        return snapshot.get().available.containsKey(id);
+    }
+
+    public long generation() {
+        return snapshot.get().generation;
+    }
+
+    public @NotNull Discovery discovery() {
+        return snapshot.get().discovery();
     }
 
     public @NotNull Collection<InMemoryPack> getAvailablePacks() {
-        return Collections.unmodifiableCollection(available.values());
+        return Collections.unmodifiableCollection(snapshot.get().available.asMap().values());
     }
 
     public @NotNull Collection<String> getAvailableIds() {
-        return Collections.unmodifiableCollection(available.keySet());
+        return snapshot.get().available.keySet();
     }
 
     public @NotNull Collection<InMemoryPack> getSelectedPacks() {
-        return Collections.unmodifiableCollection(selected.values());
+        return Collections.unmodifiableCollection(snapshot.get().selected.values());
     }
 
     public @NotNull Collection<String> getSelectedIds() {
-        return Collections.unmodifiableCollection(selected.keySet());
+        return Collections.unmodifiableCollection(snapshot.get().selected.keySet());
     }
 
     public void setSelected(@NotNull Collection<String> availableBasePacks) {
-        Map<String, InMemoryPack> selected = new LinkedHashMap<>();
-        for (String packId : availableBasePacks) {
-            InMemoryPack pack = available.get(packId);
-            if (pack == null) continue;
-            selected.put(packId, pack);
+        update(current -> {
+            Map<String, InMemoryPack> selected = new LinkedHashMap<>();
+            for (String packId : availableBasePacks) {
+                InMemoryPack pack = current.available.get(packId);
+                if (pack == null) continue;
+                selected.put(packId, pack);
+            }
+            return current.withSelected(selected);
+        });
+    }
+
+    private void update(@NotNull UnaryOperator<Snapshot> function) {
+        Snapshot current;
+        do {
+            current = snapshot.get();
+        } while (!snapshot.compareAndSet(current, function.apply(current)));
+    }
+
+    public record Discovery(long generation, @NotNull List<Pack> packs, @NotNull Map<String, Pack> byId) {
+
+        public boolean isEmpty() {
+            return packs.isEmpty();
         }
-        this.selected = selected;
     }
 
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(0, PersistentHashMap.empty(), Collections.emptyMap());
+
+        final long generation;
+        final @NotNull PersistentHashMap<String, InMemoryPack> available;
+        final @NotNull Map<String, InMemoryPack> selected;
+        private volatile @Nullable Discovery discovery;
+
+        private Snapshot(long generation, @NotNull PersistentHashMap<String, InMemoryPack> available,
+                         @NotNull Map<String, InMemoryPack> selected) {
+            this.generation = generation;
+            this.available = available;
+            this.selected = selected;
+        }
+
+        @NotNull Snapshot withAvailable(@NotNull PersistentHashMap<String, InMemoryPack> available) {
+            return new Snapshot(generation + 1, available, selected);
+        }
+
+        @NotNull Snapshot withSelected(@NotNull Map<String, InMemoryPack> selected) {
+            return new Snapshot(generation, available, Collections.unmodifiableMap(selected));
+        }
+
+        @NotNull Discovery discovery() {
+            Discovery discovery = this.discovery;
+            if (discovery == null) {
+                discovery = createDiscovery();
+                this.discovery = discovery;
+            }
+            return discovery;
+        }
+
+        private @NotNull Discovery createDiscovery() {
+            TreeMap<String, Pack> sorted = new TreeMap<>();
+            for (Map.Entry<String, InMemoryPack> entry : available) {
+                entry.getValue().base().ifPresent(pack -> sorted.put(pack.getId(), pack));
+            }
+            return new Discovery(
+                    generation,
+                    List.copyOf(sorted.values()),
+                    Collections.unmodifiableMap(sorted)
+            );
+        }
+    }
 }
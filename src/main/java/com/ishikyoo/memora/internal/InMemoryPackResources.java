@@ -1,5 +1,15 @@
 package com.ishikyoo.memora.internal;
 
+import com.ishikyoo.memora.internal.event.ListResourcesEvent;
+import com.ishikyoo.memora.internal.event.ResourceLookupEvent;
+import com.ishikyoo.memora.internal.storage.DeferredResourceBuffer;
+import com.ishikyoo.memora.internal.storage.HeapResourceStorage;
+import com.ishikyoo.memora.internal.storage.ResourceBuffer;
+import com.ishikyoo.memora.internal.storage.ResourceStorage;
+import com.ishikyoo.memora.internal.storage.ResourceStorages;
+import com.ishikyoo.memora.internal.storage.PixelResourceBuffer;
+import com.ishikyoo.memora.internal.storage.StreamResourceBuffer;
+import com.ishikyoo.memora.internal.util.PersistentHashMap;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.PackLocationInfo;
 import net.minecraft.server.packs.PackResources;
@@ -15,7 +25,11 @@ import org.slf4j.Logger;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 @ApiStatus.Internal
 public class InMemoryPackResources implements PackResources {
@@ -31,12 +45,12 @@ public class InMemoryPackResources implements PackResources {
 
         @Override
         public @NotNull InMemoryPackResources openPrimary(PackLocationInfo packLocationInfo) {
-            return resources;
+            return resources.snapshot();
         }
 
         @Override
         public @NotNull InMemoryPackResources openFull(PackLocationInfo packLocationInfo, Pack.Metadata metadata) {
-            return resources;
+            return resources.pin();
         }
 
     }
@@ -49,39 +63,197 @@ public class InMemoryPackResources implements PackResources {
 
     private final @NotNull PackType type;
     private final @NotNull PackLocationInfo location;
-    private final @NotNull Map<String, Integer> namespaces = new HashMap<>();
-    private final @NotNull Map<ResourceLocation, InMemoryResource> resources = new HashMap<>();
+    private final @NotNull ResourceStorage storage;
+    private final @NotNull AtomicReference<Generation> generation;
+    private final boolean pinned;
+    private final long epoch;
+    private final @NotNull AtomicBoolean closed = new AtomicBoolean();
+    private final @NotNull Set<ResourceLocation> dirty = ConcurrentHashMap.newKeySet();
+    private volatile @Nullable InMemoryPackResources lastPinned;
 
     public InMemoryPackResources(@NotNull PackType type, @NotNull PackLocationInfo location) {
+        this(type, location, new HeapResourceStorage());
+    }
+
+    public InMemoryPackResources(@NotNull PackType type, @NotNull PackLocationInfo location,
+                                 @NotNull ResourceStorage storage) {
+        this(type, location, storage, new AtomicReference<>(Generation.EMPTY), false, 0);
+    }
+
+    private InMemoryPackResources(@NotNull PackType type, @NotNull PackLocationInfo location,
+                                  @NotNull ResourceStorage storage,
+                                  @NotNull AtomicReference<Generation> generation, boolean pinned, long epoch) {
         this.type = type;
         this.location = location;
+        this.storage = storage;
+        this.generation = generation;
+        this.pinned = pinned;
+        this.epoch = epoch;
+    }
+
+    public @NotNull InMemoryPackResources snapshot() {
+        if (pinned) {
+            storage.retainEpoch(epoch);
+            return new InMemoryPackResources(type, location, storage, new AtomicReference<>(generation.get()), true, epoch);
+        }
+        long epoch = storage.acquireEpoch();
+        return new InMemoryPackResources(type, location, storage, new AtomicReference<>(generation.get()), true, epoch);
+    }
+
+    public @NotNull ResourceStorage storage() {
+        return storage;
+    }
+
+    public @NotNull InMemoryPackResources pin() {
+        if (pinned) return this;
+        dirty.clear();
+        generation.get().resources.forEach((location, resource) -> resource.resetOpens());
+        InMemoryPackResources snapshot = snapshot();
+        lastPinned = snapshot;
+        return snapshot;
+    }
+
+    public boolean hasPinned() {
+        return lastPinned != null;
+    }
+
+    public @NotNull Optional<InMemoryPackResources> repin(@NotNull PackResources current) {
+        if (pinned || current != lastPinned) return Optional.empty();
+        InMemoryPackResources snapshot = snapshot();
+        lastPinned = snapshot;
+        return Optional.of(snapshot);
+    }
+
+    public boolean isPinned() {
+        return pinned;
+    }
+
+    public boolean isDirty() {
+        return !dirty.isEmpty();
+    }
+
+    public @NotNull Set<ResourceLocation> drainDirty() {
+        Set<ResourceLocation> drained = new HashSet<>();
+        for (Iterator<ResourceLocation> iterator = dirty.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+
+    public long generation() {
+        return generation.get().id;
     }
 
     public @NotNull Optional<InMemoryResource> addResource(@NotNull ResourceLocation location, byte @NotNull [] buffer) {
-        if (resources.containsKey(location)) {
-            LOGGER.warn("Trying to add an already present in-memory resource to the pack resources: {}", location);
+        if (!canAdd(location)) return Optional.empty();
+        return addResource(location, storage.store(buffer));
+    }
+
+    public @NotNull Optional<InMemoryResource> addDeferredResource(@NotNull ResourceLocation location,
+                                                                   @NotNull java.util.function.Supplier<byte[]> source) {
+        if (!canAdd(location)) return Optional.empty();
+        return addResource(location, new DeferredResourceBuffer(storage, source));
+    }
+
+    public @NotNull Optional<InMemoryResource> addStreamResource(@NotNull ResourceLocation location,
+                                                                 @NotNull IoSupplier<InputStream> source, boolean spill) {
+        if (!canAdd(location)) return Optional.empty();
+        return addResource(location, new StreamResourceBuffer(source, spill ? ResourceStorages.spillDirectory() : null));
+    }
+
+    public @NotNull Optional<InMemoryResource> addTextureResource(@NotNull ResourceLocation location,
+                                                                  @NotNull ByteBuffer pixels, int width, int height) {
+        if (!canAdd(location)) return Optional.empty();
+        return addResource(location, new PixelResourceBuffer(pixels, width, height));
+    }
+
+    public boolean addProvider(@NotNull InMemoryResourceProvider provider) {
+        if (pinned) {
+            LOGGER.warn("Trying to add an in-memory resource provider to a pinned pack resources snapshot: {}", provider.namespace());
+            return false;
+        }
+        Generation current;
+        do {
+            current = generation.get();
+        } while (!generation.compareAndSet(current, current.withProvider(provider)));
+        return true;
+    }
+
+    public @NotNull Optional<InMemoryResource> addStoredResource(@NotNull ResourceLocation location,
+                                                                 @NotNull ResourceBuffer buffer) {
+        if (!canAdd(location)) {
+            buffer.release();
             return Optional.empty();
         }
-        InMemoryResource resource = InMemoryResource.of(buffer, this);
-        resources.put(location, resource);
-        addNamespace(location.getNamespace());
+        return addResource(location, buffer);
+    }
+
+    private boolean canAdd(@NotNull ResourceLocation location) {
+        if (pinned) {
+            LOGGER.warn("Trying to add an in-memory resource to a pinned pack resources snapshot: {}", location);
+            return false;
+        }
+        if (containsResource(location)) {
+            LOGGER.warn("Trying to add an already present in-memory resource to the pack resources: {}", location);
+            return false;
+        }
+        return true;
+    }
+
+    private @NotNull Optional<InMemoryResource> addResource(@NotNull ResourceLocation location, @NotNull ResourceBuffer buffer) {
+        InMemoryResource resource = InMemoryResource.of(location, buffer, this);
+        Generation current;
+        do {
+            current = generation.get();
+            if (current.resources.containsKey(location)) {
+                LOGGER.warn("Trying to add an already present in-memory resource to the pack resources: {}", location);
+                buffer.release();
+                return Optional.empty();
+            }
+        } while (!generation.compareAndSet(current, current.withResource(location, resource)));
+        markDirty(location);
         return Optional.of(resource);
     }
 
     public @NotNull Optional<InMemoryResource> removeResource(@NotNull ResourceLocation location) {
-        InMemoryResource resource = resources.remove(location);
-        if (resource == null) {
-            LOGGER.warn("Trying to remove a not present in-memory resource from the pack resources: {}", location);
+        if (pinned) {
+            LOGGER.warn("Trying to remove an in-memory resource from a pinned pack resources snapshot: {}", location);
             return Optional.empty();
         }
-        String namespace = location.getNamespace();
-        removeNamespace(namespace);
+        Generation current;
+        InMemoryResource resource;
+        do {
+            current = generation.get();
+            resource = current.resources.get(location);
+            if (resource == null) {
+                LOGGER.warn("Trying to remove a not present in-memory resource from the pack resources: {}", location);
+                return Optional.empty();
+            }
+        } while (!generation.compareAndSet(current, current.withoutResource(location)));
+        markDirty(location);
+        resource.buffer().release();
         return Optional.of(resource);
     }
 
+    private void markDirty(@NotNull ResourceLocation location) {
+        dirty.add(location);
+        if (lastPinned != null) Memora.reloads.changed(false);
+    }
+
+    public void dispose() {
+        if (pinned) return;
+        Generation disposed = generation.getAndSet(Generation.EMPTY);
+        disposed.resources.forEach((location, resource) -> resource.buffer().release());
+        disposed.providers.forEach((namespace, providers) -> providers.forEach(InMemoryResourceProvider::clear));
+        storage.close();
+    }
+
     public @NotNull Optional<InMemoryResource> getResource(@NotNull ResourceLocation location) {
-        InMemoryResource resource = resources.get(location);
-        return Optional.ofNullable(resource);
+        Generation current = generation.get();
+        InMemoryResource resource = lookup(current, location);
+        if (resource == null) return Optional.empty();
+        return Optional.of(resource.servedBy(this, sidecar -> lookup(current, sidecar)));
     }
 
     public @NotNull Optional<InMemoryResource> getMetadataResource() {
@@ -89,7 +261,7 @@ public class InMemoryPackResources implements PackResources {
     }
 
     public boolean containsResource(ResourceLocation location) {
-        return resources.containsKey(location);
+        return generation.get().resources.containsKey(location);
     }
 
     public boolean containsMetadata() {
@@ -99,33 +271,59 @@ public class InMemoryPackResources implements PackResources {
     @Override
     public @Nullable IoSupplier<InputStream> getRootResource(String... strings) {
         String path = String.join("/", strings);
-        InMemoryResource resource = resources.get(ROOT_LOCATION.withPath(path));
-        return resource == null ? null : resource::open;
+        ResourceLocation location = ROOT_LOCATION.withPath(path);
+        InMemoryResource resource = lookup(generation.get(), location);
+        ResourceLookupEvent.emit(packId(), location, resource != null);
+        return resource == null ? null : resource.supplier();
     }
 
     @Override
     public @Nullable IoSupplier<InputStream> getResource(PackType type, ResourceLocation location) {
         if (!type.equals(this.type)) return null;
-        InMemoryResource resource = resources.get(location);
-        return resource == null ? null : resource::open;
+        InMemoryResource resource = lookup(generation.get(), location);
+        ResourceLookupEvent.emit(packId(), location, resource != null);
+        return resource == null ? null : resource.supplier();
     }
 
     @Override
     public void listResources(PackType type, String namespace, String path, ResourceOutput output) {
         if (!type.equals(this.type)) return;
-        String prefix = path.isEmpty() ? "" : path + "/";
-        resources.forEach((key, resource) -> {
-            if (!key.getNamespace().equals(namespace)) return;
-            if (!key.getPath().startsWith(prefix)) return;
-            String remaining = key.getPath().substring(prefix.length());
-            if (remaining.contains("/")) return;
-            output.accept(key, resource::open);
-        });
+        ListResourcesEvent event = new ListResourcesEvent();
+        event.begin();
+        Generation current = generation.get();
+        PersistentHashMap<String, PersistentHashMap<ResourceLocation, InMemoryResource>> namespaceDirectories =
+                current.directories.get(namespace);
+        PersistentHashMap<ResourceLocation, InMemoryResource> directory =
+                namespaceDirectories == null ? null : namespaceDirectories.get(path);
+        int listed = 0;
+        if (directory != null) {
+            directory.forEach((key, resource) -> output.accept(key, resource.supplier()));
+            listed = directory.size();
+        }
+        if (!current.providers.isEmpty()) {
+            for (ProvidedPath provided : current.providerIndex.directory(namespace, path)) {
+                ResourceLocation key = provided.location();
+                if (current.resources.containsKey(key)) continue;
+                InMemoryResource resource = provided.provider().list(key, this);
+                if (resource == null) continue;
+                output.accept(key, resource.supplier());
+                listed++;
+            }
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.set(packId(), namespace, path, listed);
+            event.commit();
+        }
     }
 
     @Override
     public @NotNull Set<String> getNamespaces(PackType type) {
-        return Collections.unmodifiableSet(namespaces.keySet());
+        Generation current = generation.get();
+        if (current.providers.isEmpty()) return current.namespaces.keySet();
+        Set<String> namespaces = new HashSet<>(current.namespaces.keySet());
+        namespaces.addAll(current.providers.keySet());
+        return Collections.unmodifiableSet(namespaces);
     }
 
 
@@ -141,47 +339,180 @@ public class InMemoryPackResources implements PackResources {
 
     @Override
     public @Nullable <T> T getMetadataSection(MetadataSectionType<T> metadataSectionType) throws IOException {
-        InMemoryResource resource = resources.get(PACK_META_LOCATION);
+        InMemoryResource resource = generation.get().resources.get(PACK_META_LOCATION);
         if (resource == null) return null;
-        ResourceMetadata metadata = resource.metadata();
+        ResourceMetadata metadata = resource.bodyAsMetadata();
         Optional<T> section = metadata.getSection(metadataSectionType);
         return section.orElse(null);
     }
 
     @Override
     public void close() {
-
+        if (pinned && closed.compareAndSet(false, true)) storage.releaseEpoch(epoch);
     }
 
     public int getResourcesCount() {
-        return resources.size();
+        return generation.get().resources.size();
     }
 
     public int getResourcesCount(@NotNull String namespace) {
-        if (namespaces.containsKey(namespace)) return 0;
-        return namespaces.get(namespace);
+        return generation.get().namespaces.getOrDefault(namespace, 0);
+    }
+
+    public @NotNull Map<String, Integer> getNamespaceResourcesCounts() {
+        return Map.copyOf(generation.get().namespaces.asMap());
+    }
+
+    public void forEachResource(@NotNull java.util.function.Consumer<InMemoryResource> action) {
+        generation.get().resources.forEach((location, resource) -> action.accept(resource));
+    }
+
+    public void forEachProvidedResource(@NotNull java.util.function.Consumer<InMemoryResource> action) {
+        Generation current = generation.get();
+        if (current.providers.isEmpty()) return;
+        current.providerIndex.forEach(provided -> {
+            ResourceLocation location = provided.location();
+            if (current.resources.containsKey(location)) return;
+            InMemoryResource resource = provided.provider().list(location, this);
+            if (resource != null) action.accept(resource);
+        });
     }
 
     public int getRootResourcesCount() {
         return getResourcesCount(ROOT_NAMESPACE);
     }
 
-    private void addNamespace(@NotNull String namespace) {
-        if (!namespaces.containsKey(namespace)) {
-            namespaces.put(namespace, 1);
-        } else {
-            int count = namespaces.get(namespace);
-            namespaces.replace(namespace, count + 1);
+    private @Nullable InMemoryResource lookup(@NotNull Generation current, @NotNull ResourceLocation location) {
+        InMemoryResource resource = current.resources.get(location);
+        if (resource != null) return resource;
+        List<InMemoryResourceProvider> providers = current.providers.get(location.getNamespace());
+        if (providers == null) return null;
+        for (InMemoryResourceProvider provider : providers) {
+            resource = provider.resolve(location, this);
+            if (resource != null) return resource;
         }
+        return null;
     }
 
-    private void removeNamespace(@NotNull String namespace) {
-        if (!namespaces.containsKey(namespace)) return;
-        int count = namespaces.get(namespace);
-        if (count > 1) {
-            namespaces.replace(namespace, count - 1);
-        } else {
-            namespaces.remove(namespace);
+    private record Generation(long id,
+                              @NotNull PersistentHashMap<ResourceLocation, InMemoryResource> resources,
+                              @NotNull PersistentHashMap<String, Integer> namespaces,
+                              @NotNull PersistentHashMap<String, PersistentHashMap<String, PersistentHashMap<ResourceLocation, InMemoryResource>>> directories,
+                              @NotNull PersistentHashMap<String, List<InMemoryResourceProvider>> providers,
+                              @NotNull ProviderIndex providerIndex) {
+
+        static final Generation EMPTY = new Generation(0, PersistentHashMap.empty(), PersistentHashMap.empty(),
+                PersistentHashMap.empty(), PersistentHashMap.empty(), new ProviderIndex(PersistentHashMap.empty()));
+
+        @NotNull Generation withProvider(@NotNull InMemoryResourceProvider provider) {
+            List<InMemoryResourceProvider> namespaceProviders = new ArrayList<>(providers.getOrDefault(provider.namespace(), List.of()));
+            namespaceProviders.add(provider);
+            PersistentHashMap<String, List<InMemoryResourceProvider>> providers =
+                    this.providers.with(provider.namespace(), List.copyOf(namespaceProviders));
+            return new Generation(id + 1, resources, namespaces, directories, providers, new ProviderIndex(providers));
         }
+
+        @NotNull Generation withResource(@NotNull ResourceLocation location, @NotNull InMemoryResource resource) {
+            String namespace = location.getNamespace();
+            String directoryPath = directoryOf(location);
+            PersistentHashMap<String, PersistentHashMap<ResourceLocation, InMemoryResource>> namespaceDirectories =
+                    directories.getOrDefault(namespace, PersistentHashMap.empty());
+            PersistentHashMap<ResourceLocation, InMemoryResource> directory =
+                    namespaceDirectories.getOrDefault(directoryPath, PersistentHashMap.empty());
+            return new Generation(
+                    id + 1,
+                    resources.with(location, resource),
+                    namespaces.with(namespace, namespaces.getOrDefault(namespace, 0) + 1),
+                    directories.with(namespace, namespaceDirectories.with(directoryPath, directory.with(location, resource))),
+                    providers,
+                    providerIndex
+            );
+        }
+
+        @NotNull Generation withoutResource(@NotNull ResourceLocation location) {
+            String namespace = location.getNamespace();
+            String directoryPath = directoryOf(location);
+            int count = namespaces.getOrDefault(namespace, 0);
+            PersistentHashMap<String, PersistentHashMap<ResourceLocation, InMemoryResource>> namespaceDirectories =
+                    directories.getOrDefault(namespace, PersistentHashMap.empty());
+            PersistentHashMap<ResourceLocation, InMemoryResource> directory =
+                    namespaceDirectories.getOrDefault(directoryPath, PersistentHashMap.empty()).without(location);
+            namespaceDirectories = directory.isEmpty()
+                    ? namespaceDirectories.without(directoryPath)
+                    : namespaceDirectories.with(directoryPath, directory);
+            return new Generation(
+                    id + 1,
+                    resources.without(location),
+                    count > 1 ? namespaces.with(namespace, count - 1) : namespaces.without(namespace),
+                    namespaceDirectories.isEmpty()
+                            ? directories.without(namespace)
+                            : directories.with(namespace, namespaceDirectories),
+                    providers,
+                    providerIndex
+            );
+        }
+    }
+
+    private record ProvidedPath(@NotNull InMemoryResourceProvider provider, @NotNull ResourceLocation location) {
+    }
+
+    private static final class ProviderIndex {
+
+        private final @NotNull PersistentHashMap<String, List<InMemoryResourceProvider>> providers;
+        private volatile @Nullable Map<String, Map<String, List<ProvidedPath>>> directories;
+
+        ProviderIndex(@NotNull PersistentHashMap<String, List<InMemoryResourceProvider>> providers) {
+            this.providers = providers;
+        }
+
+        @NotNull List<ProvidedPath> directory(@NotNull String namespace, @NotNull String path) {
+            Map<String, List<ProvidedPath>> namespaceDirectories = directories().get(namespace);
+            if (namespaceDirectories == null) return List.of();
+            return namespaceDirectories.getOrDefault(path, List.of());
+        }
+
+        void forEach(@NotNull java.util.function.Consumer<ProvidedPath> action) {
+            for (Map<String, List<ProvidedPath>> namespaceDirectories : directories().values()) {
+                for (List<ProvidedPath> directory : namespaceDirectories.values()) {
+                    directory.forEach(action);
+                }
+            }
+        }
+
+        private @NotNull Map<String, Map<String, List<ProvidedPath>>> directories() {
+            Map<String, Map<String, List<ProvidedPath>>> directories = this.directories;
+            if (directories != null) return directories;
+            synchronized (this) {
+                directories = this.directories;
+                if (directories != null) return directories;
+                directories = index();
+                this.directories = directories;
+                return directories;
+            }
+        }
+
+        private @NotNull Map<String, Map<String, List<ProvidedPath>>> index() {
+            Map<String, Map<String, List<ProvidedPath>>> directories = new HashMap<>();
+            providers.forEach((namespace, providers) -> {
+                Map<String, List<ProvidedPath>> namespaceDirectories = directories.computeIfAbsent(namespace, key -> new HashMap<>());
+                for (InMemoryResourceProvider provider : providers) {
+                    for (String path : provider.paths()) {
+                        ResourceLocation location = ResourceLocation.fromNamespaceAndPath(namespace, path);
+                        namespaceDirectories.computeIfAbsent(directoryOf(path), key -> new ArrayList<>())
+                                .add(new ProvidedPath(provider, location));
+                    }
+                }
+            });
+            return directories;
+        }
+    }
+
+    private static @NotNull String directoryOf(@NotNull ResourceLocation location) {
+        return directoryOf(location.getPath());
+    }
+
+    private static @NotNull String directoryOf(@NotNull String path) {
+        int lastSlash = path.lastIndexOf('/');
+        return lastSlash == -1 ? "" : path.substring(0, lastSlash);
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,20 @@
 package com.ishikyoo.memora.internal;
 
+import com.ishikyoo.memora.internal.event.ResourceOpenEvent;
+import com.ishikyoo.memora.internal.storage.ResourceBuffer;
+import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.PackResources;
 import net.minecraft.server.packs.resources.Resource;
 import net.minecraft.server.packs.resources.ResourceMetadata;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Objects;
+import java.util.function.Function;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 @ApiStatus.Internal
 public class InMemoryResource extends Resource {
@@ -17,15 +22,45 @@ public class InMemoryResource extends Resource {
     @ApiStatus.Internal
     public static class IoSupplier implements net.minecraft.server.packs.resources.IoSupplier<InputStream> {
 
-        private final byte @NotNull [] buffer;
+        private final @NotNull String packId;
+        private final @NotNull ResourceLocation location;
+        private static final AtomicIntegerFieldUpdater<IoSupplier> OPENS =
+                AtomicIntegerFieldUpdater.newUpdater(IoSupplier.class, "opens");
 
-        public IoSupplier(byte @NotNull [] buffer) {
+        private final @NotNull ResourceBuffer buffer;
+        private volatile int opens;
+
+        public IoSupplier(@NotNull String packId, @NotNull ResourceLocation location, @NotNull ResourceBuffer buffer) {
+            this.packId = Objects.requireNonNull(packId);
+            this.location = Objects.requireNonNull(location);
             this.buffer = Objects.requireNonNull(buffer);
         }
 
         @Override
-        public @NotNull InputStream get() {
-            return new ByteArrayInputStream(buffer);
+        public @NotNull InputStream get() throws IOException {
+            ResourceOpenEvent event = new ResourceOpenEvent();
+            event.begin();
+            InputStream stream;
+            try {
+                stream = buffer.open();
+            } catch (RuntimeException e) {
+                throw new IOException("Failed to open in-memory resource buffer", e);
+            }
+            OPENS.incrementAndGet(this);
+            event.end();
+            if (event.shouldCommit()) {
+                event.set(packId, location, buffer.isMaterialized() ? buffer.size() : -1);
+                event.commit();
+            }
+            return stream;
+        }
+
+        public int opens() {
+            return opens;
+        }
+
+        public void resetOpens() {
+            opens = 0;
         }
 
     }
@@ -33,31 +68,115 @@ public class InMemoryResource extends Resource {
     @ApiStatus.Internal
     public static class IoSupplierMetadata implements net.minecraft.server.packs.resources.IoSupplier<ResourceMetadata> {
 
-        private final byte @NotNull [] buffer;
+        private final @NotNull ResourceBuffer buffer;
+        private volatile @Nullable ResourceMetadata metadata;
 
-        public IoSupplierMetadata(byte @NotNull [] buffer) {
+        public IoSupplierMetadata(@NotNull ResourceBuffer buffer) {
             this.buffer = Objects.requireNonNull(buffer);
         }
 
         @Override
         public @NotNull ResourceMetadata get() throws IOException {
-            InputStream stream = new ByteArrayInputStream(buffer);
-            return ResourceMetadata.fromJsonStream(stream);
+            ResourceMetadata metadata = this.metadata;
+            if (metadata == null) {
+                try (InputStream stream = buffer.open()) {
+                    metadata = ResourceMetadata.fromJsonStream(stream);
+                } catch (RuntimeException e) {
+                    throw new IOException("Failed to read in-memory resource metadata", e);
+                }
+                this.metadata = metadata;
+            }
+            return metadata;
         }
 
     }
 
-    private InMemoryResource(@NotNull PackResources resources,
-                             @NotNull net.minecraft.server.packs.resources.IoSupplier<InputStream> stream,
-                             @NotNull net.minecraft.server.packs.resources.IoSupplier<ResourceMetadata> metadata) {
-        super(resources, stream, metadata);
+    private record Metadata(@Nullable InMemoryResource sidecar, @NotNull ResourceMetadata value) {
+    }
+
+    private final @NotNull ResourceLocation location;
+    private final @NotNull ResourceBuffer buffer;
+    private final @NotNull IoSupplier stream;
+    private final @NotNull IoSupplierMetadata body;
+    private final @NotNull Function<ResourceLocation, @Nullable InMemoryResource> sidecars;
+    private final @Nullable InMemoryResource origin;
+    private volatile @Nullable Metadata metadata;
+
+    private InMemoryResource(@NotNull InMemoryPackResources resources,
+                             @NotNull ResourceLocation location,
+                             @NotNull ResourceBuffer buffer,
+                             @NotNull IoSupplier stream,
+                             @NotNull IoSupplierMetadata body,
+                             @NotNull Function<ResourceLocation, @Nullable InMemoryResource> sidecars,
+                             @Nullable InMemoryResource origin) {
+        super(resources, stream, ResourceMetadata.EMPTY_SUPPLIER);
+        this.location = location;
+        this.buffer = buffer;
+        this.stream = stream;
+        this.body = body;
+        this.sidecars = sidecars;
+        this.origin = origin;
+    }
+
+    @Override
+    public @NotNull ResourceMetadata metadata() throws IOException {
+        InMemoryResource sidecar = sidecars.apply(location.withSuffix(PackResources.METADATA_EXTENSION));
+        return (origin == null ? this : origin).metadata(sidecar);
+    }
+
+    private @NotNull ResourceMetadata metadata(@Nullable InMemoryResource sidecar) throws IOException {
+        if (sidecar != null && sidecar.origin != null) sidecar = sidecar.origin;
+        Metadata metadata = this.metadata;
+        if (metadata != null && metadata.sidecar() == sidecar) return metadata.value();
+        ResourceMetadata value = sidecar == null ? ResourceMetadata.EMPTY : sidecar.bodyAsMetadata();
+        this.metadata = new Metadata(sidecar, value);
+        return value;
+    }
+
+    @NotNull InMemoryResource servedBy(@NotNull InMemoryPackResources resources,
+                                       @NotNull Function<ResourceLocation, @Nullable InMemoryResource> sidecars) {
+        InMemoryResource origin = this.origin == null ? this : this.origin;
+        return new InMemoryResource(resources, location, buffer, stream, body, sidecars, origin);
+    }
+
+    public @NotNull ResourceMetadata bodyAsMetadata() throws IOException {
+        return body.get();
+    }
+
+    public @NotNull ResourceLocation location() {
+        return location;
+    }
+
+    public @NotNull net.minecraft.server.packs.resources.IoSupplier<InputStream> supplier() {
+        return stream;
+    }
+
+    public @NotNull ResourceBuffer buffer() {
+        return buffer;
+    }
+
+    public int size() {
+        return buffer.size();
+    }
+
+    public boolean isMaterialized() {
+        return buffer.isMaterialized();
+    }
+
+    public int opens() {
+        return stream.opens();
+    }
+
+    public void resetOpens() {
+        stream.resetOpens();
     }
 
-    public static InMemoryResource of(byte @NotNull [] data, InMemoryPackResources resources) {
-        net.minecraft.server.packs.resources.IoSupplier<InputStream> stream = new InMemoryResource.IoSupplier(data);
-        net.minecraft.server.packs.resources.IoSupplier<ResourceMetadata> metadata = new InMemoryResource.IoSupplierMetadata(data);
-        return new InMemoryResource(resources, stream, metadata
-        );
+    public static InMemoryResource of(@NotNull ResourceLocation location, @NotNull ResourceBuffer buffer,
+                                      @NotNull InMemoryPackResources resources) {
+        IoSupplier stream = new InMemoryResource.IoSupplier(resources.packId(), location, buffer);
+        IoSupplierMetadata body = new InMemoryResource.IoSupplierMetadata(buffer);
+        return new InMemoryResource(resources, location, buffer, stream, body,
+                sidecar -> resources.getResource(sidecar).orElse(null), null);
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,129 @@
+package com.ishikyoo.memora.internal;
+
+import com.ishikyoo.memora.internal.storage.DeferredResourceBuffer;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+@ApiStatus.Internal
+public final class InMemoryResourceProvider {
+
+    private static final Logger LOGGER = ModContext.LOGGER;
+
+    private final @NotNull String namespace;
+    private final @NotNull Predicate<String> matcher;
+    private final @NotNull Supplier<? extends Iterable<String>> paths;
+    private final @NotNull Function<ResourceLocation, @Nullable Supplier<byte[]>> generator;
+    private final @Nullable Map<ResourceLocation, InMemoryResource> memo;
+
+    public InMemoryResourceProvider(@NotNull String namespace, @NotNull Predicate<String> matcher,
+                                    @NotNull Supplier<? extends Iterable<String>> paths,
+                                    @NotNull Function<ResourceLocation, @Nullable Supplier<byte[]>> generator,
+                                    int memoization) {
+        this.namespace = Objects.requireNonNull(namespace);
+        this.matcher = Objects.requireNonNull(matcher);
+        this.paths = Objects.requireNonNull(paths);
+        this.generator = Objects.requireNonNull(generator);
+        this.memo = memoization <= 0 ? null : new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ResourceLocation, InMemoryResource> eldest) {
+                return size() > memoization;
+            }
+        };
+    }
+
+    public @NotNull String namespace() {
+        return namespace;
+    }
+
+    public boolean provides(@NotNull ResourceLocation location) {
+        return location.getNamespace().equals(namespace) && matcher.test(location.getPath());
+    }
+
+    public @NotNull Iterable<String> paths() {
+        return paths.get();
+    }
+
+    @Nullable InMemoryResource resolve(@NotNull ResourceLocation location, @NotNull InMemoryPackResources resources) {
+        if (!provides(location)) return null;
+        InMemoryResource resource = memoized(location);
+        if (resource != null) return resource;
+        Supplier<byte[]> body;
+        try {
+            body = generator.apply(location);
+        } catch (RuntimeException e) {
+            LOGGER.warn("In-memory resource provider failed to generate: {}", location, e);
+            return null;
+        }
+        if (body == null) return null;
+        resource = create(location, resources, body);
+        if (memo == null) return resource;
+        synchronized (memo) {
+            InMemoryResource existing = memo.putIfAbsent(location, resource);
+            return existing != null ? existing : resource;
+        }
+    }
+
+    @Nullable InMemoryResource list(@NotNull ResourceLocation location, @NotNull InMemoryPackResources resources) {
+        if (!provides(location)) return null;
+        InMemoryResource resource = memoized(location);
+        if (resource != null) return resource;
+        return create(location, resources, () -> {
+            Supplier<byte[]> body = generator.apply(location);
+            if (body == null) throw new IllegalStateException("In-memory resource provider produced no body for: " + location);
+            return body.get();
+        });
+    }
+
+    void clear() {
+        if (memo == null) return;
+        synchronized (memo) {
+            memo.clear();
+        }
+    }
+
+    private @Nullable InMemoryResource memoized(@NotNull ResourceLocation location) {
+        if (memo == null) return null;
+        synchronized (memo) {
+            return memo.get(location);
+        }
+    }
+
+    private @NotNull InMemoryResource create(@NotNull ResourceLocation location, @NotNull InMemoryPackResources resources,
+                                             @NotNull Supplier<byte[]> body) {
+        AtomicReference<InMemoryResource> created = new AtomicReference<>();
+        InMemoryResource resource = InMemoryResource.of(location, DeferredResourceBuffer.unstored(() -> {
+            byte[] bytes;
+            try {
+                bytes = body.get();
+            } catch (RuntimeException e) {
+                forget(location, created.get());
+                throw e;
+            }
+            if (bytes == null) {
+                forget(location, created.get());
+                throw new IllegalStateException("In-memory resource provider produced no body for: " + location);
+            }
+            return bytes;
+        }), resources);
+        created.set(resource);
+        return resource;
+    }
+
+    private void forget(@NotNull ResourceLocation location, @Nullable InMemoryResource resource) {
+        if (memo == null || resource == null) return;
+        synchronized (memo) {
+            memo.remove(location, resource);
+        }
+    }
+}
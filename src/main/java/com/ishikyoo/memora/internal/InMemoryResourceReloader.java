@@ -0,0 +1,14 @@
+package com.ishikyoo.memora.internal;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+
+@ApiStatus.Internal
+public interface InMemoryResourceReloader {
+
+    @NotNull CompletableFuture<Void> reloadChanged();
+
+    @NotNull CompletableFuture<Void> reloadAll();
+}
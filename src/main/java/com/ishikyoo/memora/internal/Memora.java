@@ -1,15 +1,34 @@
 package com.ishikyoo.memora.internal;
 
+import com.ishikyoo.memora.internal.command.MemoraCommand;
+import com.ishikyoo.memora.internal.server.ServerPackDelivery;
+import net.fabricmc.api.EnvType;
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.loader.api.FabricLoader;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Executor;
 
 @ApiStatus.Internal
 public class Memora implements ModInitializer {
 
 	public static final InMemoryPackRepository repository = new InMemoryPackRepository();
 
+	public static volatile @Nullable InMemoryResourceReloader reloader;
+
+	public static final ReloadCoordinator reloads = new ReloadCoordinator(() -> reloader);
+
+	public static volatile @Nullable Executor mainThread;
+
 	@Override
 	public void onInitialize() {
-
+		MemoraCommand.register();
+		ServerPackDelivery.register();
+		if (FabricLoader.getInstance().getEnvironmentType() == EnvType.SERVER) {
+			ServerLifecycleEvents.SERVER_STARTING.register(server -> mainThread = server::execute);
+			ServerLifecycleEvents.SERVER_STOPPED.register(server -> mainThread = null);
+		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,150 @@
+package com.ishikyoo.memora.internal;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@ApiStatus.Internal
+public final class ReloadCoordinator {
+
+    private static final Logger LOGGER = ModContext.LOGGER;
+
+    public static final String DEBOUNCE_PROPERTY = "memora.reload.debounce";
+    public static final String MAX_DELAY_PROPERTY = "memora.reload.maxDelay";
+    public static final String AUTOMATIC_PROPERTY = "memora.reload.automatic";
+
+    private static final long DEFAULT_DEBOUNCE_MILLIS = 100;
+    private static final long DEFAULT_MAX_DELAY_MILLIS = 1000;
+
+    private final @NotNull Supplier<@Nullable InMemoryResourceReloader> reloader;
+    private final @NotNull ScheduledExecutorService scheduler;
+    private final long debounce;
+    private final long maxDelay;
+    private final boolean automatic;
+
+    private @Nullable CompletableFuture<Void> pending;
+    private boolean full;
+    private boolean scheduled;
+    private boolean running;
+    private long firstChange;
+    private long lastChange;
+
+    public ReloadCoordinator(@NotNull Supplier<@Nullable InMemoryResourceReloader> reloader) {
+        this(
+                reloader,
+                Long.getLong(DEBOUNCE_PROPERTY, DEFAULT_DEBOUNCE_MILLIS),
+                Long.getLong(MAX_DELAY_PROPERTY, DEFAULT_MAX_DELAY_MILLIS),
+                Boolean.getBoolean(AUTOMATIC_PROPERTY)
+        );
+    }
+
+    public ReloadCoordinator(@NotNull Supplier<@Nullable InMemoryResourceReloader> reloader,
+                             long debounceMillis, long maxDelayMillis, boolean automatic) {
+        if (debounceMillis < 0) throw new IllegalArgumentException("Reload debounce must not be negative: " + debounceMillis);
+        this.reloader = reloader;
+        this.debounce = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+        this.maxDelay = TimeUnit.MILLISECONDS.toNanos(Math.max(debounceMillis, maxDelayMillis));
+        this.automatic = automatic;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Memora Reload Coordinator");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public @NotNull CompletableFuture<Void> request() {
+        if (reloader.get() == null) {
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("Partial in-memory resource reloads are only available on the client")
+            );
+        }
+        synchronized (this) {
+            if (pending == null) pending = new CompletableFuture<>();
+            touch();
+            return pending.copy();
+        }
+    }
+
+    public void changed(boolean requiresFullReload) {
+        synchronized (this) {
+            full |= requiresFullReload;
+            if (pending == null) {
+                if (!automatic || reloader.get() == null) return;
+                pending = new CompletableFuture<>();
+            }
+            touch();
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    private void touch() {
+        long now = System.nanoTime();
+        lastChange = now;
+        if (scheduled || running) return;
+        firstChange = now;
+        schedule(debounce);
+    }
+
+    private void schedule(long delay) {
+        scheduled = true;
+        scheduler.schedule(this::fire, delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void fire() {
+        CompletableFuture<Void> batch;
+        boolean full;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long wait = Math.min(lastChange + debounce - now, firstChange + maxDelay - now);
+            if (wait > 0) {
+                schedule(wait);
+                return;
+            }
+            scheduled = false;
+            batch = pending;
+            if (batch == null) return;
+            full = this.full;
+            pending = null;
+            this.full = false;
+            running = true;
+        }
+
+        CompletableFuture<Void> reload;
+        try {
+            InMemoryResourceReloader reloader = this.reloader.get();
+            if (reloader == null) {
+                throw new IllegalStateException("Partial in-memory resource reloads are only available on the client");
+            }
+            reload = full ? reloader.reloadAll() : reloader.reloadChanged();
+        } catch (RuntimeException e) {
+            reload = CompletableFuture.failedFuture(e);
+        }
+
+        reload.whenComplete((unused, throwable) -> {
+            synchronized (this) {
+                running = false;
+                if (throwable != null) this.full |= full;
+                if (pending != null) {
+                    firstChange = System.nanoTime();
+                    schedule(debounce);
+                }
+            }
+            if (throwable == null) {
+                batch.complete(null);
+            } else {
+                LOGGER.warn("Coordinated reload of in-memory resources failed", throwable);
+                batch.completeExceptionally(throwable);
+            }
+        });
+    }
+}
@@ -0,0 +1,154 @@
+package com.ishikyoo.memora.internal.client;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.ishikyoo.memora.internal.ModContext;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+@ApiStatus.Internal
+final class AtlasIndex {
+
+    private static final Logger LOGGER = ModContext.LOGGER;
+
+    private static final String ATLAS_DIRECTORY = "atlases";
+    private static final String TEXTURE_DIRECTORY = "textures/";
+    private static final String TEXTURE_SUFFIX = ".png";
+    private static final String METADATA_SUFFIX = ".mcmeta";
+    private static final String JSON_SUFFIX = ".json";
+
+    private final @NotNull Map<ResourceLocation, Atlas> atlases;
+
+    private AtlasIndex(@NotNull Map<ResourceLocation, Atlas> atlases) {
+        this.atlases = atlases;
+    }
+
+    static @NotNull AtlasIndex load(@NotNull ResourceManager manager) {
+        Map<ResourceLocation, Atlas> atlases = new HashMap<>();
+        for (ResourceLocation file : manager.listResources(ATLAS_DIRECTORY, location -> location.getPath().endsWith(JSON_SUFFIX)).keySet()) {
+            String path = file.getPath();
+            ResourceLocation id = file.withPath(path.substring(ATLAS_DIRECTORY.length() + 1, path.length() - JSON_SUFFIX.length()));
+            Atlas atlas = new Atlas();
+            for (Resource resource : manager.getResourceStack(file)) {
+                try (Reader reader = resource.openAsReader()) {
+                    atlas.addSources(JsonParser.parseReader(reader));
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.debug("Failed to read atlas definition {} from {}, treating it as covering every texture", file, resource.sourcePackId(), e);
+                    atlas.opaque = true;
+                }
+            }
+            atlases.put(id, atlas);
+        }
+        return new AtlasIndex(atlases);
+    }
+
+    static boolean isTexture(@NotNull ResourceLocation location) {
+        return location.getPath().startsWith(TEXTURE_DIRECTORY);
+    }
+
+    @NotNull Set<ResourceLocation> atlasesOf(@NotNull ResourceLocation location) {
+        String path = location.getPath();
+        if (path.endsWith(METADATA_SUFFIX)) path = path.substring(0, path.length() - METADATA_SUFFIX.length());
+        if (!path.startsWith(TEXTURE_DIRECTORY) || !path.endsWith(TEXTURE_SUFFIX)) return atlases.keySet();
+        String sprite = path.substring(TEXTURE_DIRECTORY.length(), path.length() - TEXTURE_SUFFIX.length());
+        ResourceLocation spriteLocation = location.withPath(sprite);
+
+        Set<ResourceLocation> matched = new HashSet<>();
+        atlases.forEach((id, atlas) -> {
+            if (atlas.contains(spriteLocation)) matched.add(id);
+        });
+        return matched;
+    }
+
+    private static final class Atlas {
+
+        private final @NotNull Set<String> directories = new HashSet<>();
+        private final @NotNull Set<ResourceLocation> sprites = new HashSet<>();
+        private boolean opaque;
+
+        boolean contains(@NotNull ResourceLocation sprite) {
+            if (opaque || sprites.contains(sprite)) return true;
+            String path = sprite.getPath();
+            for (String directory : directories) {
+                if (path.startsWith(directory)) return true;
+            }
+            return false;
+        }
+
+        void addSources(@Nullable JsonElement root) {
+            if (root == null || !root.isJsonObject()) {
+                opaque = true;
+                return;
+            }
+            JsonElement sources = root.getAsJsonObject().get("sources");
+            if (sources == null || !sources.isJsonArray()) return;
+            for (JsonElement element : sources.getAsJsonArray()) {
+                if (!element.isJsonObject()) {
+                    opaque = true;
+                    continue;
+                }
+                addSource(element.getAsJsonObject());
+            }
+        }
+
+        private void addSource(@NotNull JsonObject source) {
+            String type = string(source, "type");
+            if (type == null) {
+                opaque = true;
+                return;
+            }
+            switch (type.startsWith("minecraft:") ? type.substring("minecraft:".length()) : type) {
+                case "directory" -> {
+                    String directory = string(source, "source");
+                    if (directory == null) opaque = true;
+                    else directories.add(directory.endsWith("/") ? directory : directory + "/");
+                }
+                case "single", "unstitch" -> addSprite(string(source, "resource"));
+                case "paletted_permutations" -> {
+                    JsonArray textures = source.getAsJsonArray("textures");
+                    if (textures == null) {
+                        opaque = true;
+                        return;
+                    }
+                    for (JsonElement texture : textures) {
+                        addSprite(texture.isJsonPrimitive() ? texture.getAsString() : null);
+                    }
+                    addSprite(string(source, "palette_key"));
+                    JsonElement permutations = source.get("permutations");
+                    if (permutations != null && permutations.isJsonObject()) {
+                        for (Map.Entry<String, JsonElement> permutation : permutations.getAsJsonObject().entrySet()) {
+                            addSprite(permutation.getValue().isJsonPrimitive() ? permutation.getValue().getAsString() : null);
+                        }
+                    }
+                }
+                case "filter" -> { }
+                default -> opaque = true;
+            }
+        }
+
+        private void addSprite(@Nullable String sprite) {
+            ResourceLocation location = sprite == null ? null : ResourceLocation.tryParse(sprite);
+            if (location == null) {
+                opaque = true;
+                return;
+            }
+            sprites.add(location);
+        }
+
+        private static @Nullable String string(@NotNull JsonObject object, @NotNull String key) {
+            JsonElement element = object.get(key);
+            return element != null && element.isJsonPrimitive() ? element.getAsString() : null;
+        }
+    }
+}
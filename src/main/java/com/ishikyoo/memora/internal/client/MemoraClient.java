@@ -0,0 +1,17 @@
+package com.ishikyoo.memora.internal.client;
+
+import com.ishikyoo.memora.internal.Memora;
+import net.fabricmc.api.ClientModInitializer;
+import net.minecraft.client.Minecraft;
+import org.jetbrains.annotations.ApiStatus;
+
+@ApiStatus.Internal
+public class MemoraClient implements ClientModInitializer {
+
+	@Override
+	public void onInitializeClient() {
+		Memora.reloader = new PartialResourceReloader();
+		Memora.mainThread = runnable -> Minecraft.getInstance().execute(runnable);
+		MemoraClientCommand.register();
+	}
+}
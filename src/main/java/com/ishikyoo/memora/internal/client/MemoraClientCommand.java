@@ -0,0 +1,38 @@
+package com.ishikyoo.memora.internal.client;
+
+import com.ishikyoo.memora.api.Memora;
+import com.ishikyoo.memora.internal.ModContext;
+import com.ishikyoo.memora.internal.command.StatsReport;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import net.fabricmc.fabric.api.client.command.v2.ClientCommandManager;
+import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
+import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
+import net.minecraft.network.chat.Component;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+@ApiStatus.Internal
+public final class MemoraClientCommand {
+
+    private MemoraClientCommand() { }
+
+    public static void register() {
+        ClientCommandRegistrationCallback.EVENT.register((dispatcher, registryAccess) -> register(dispatcher));
+    }
+
+    private static void register(@NotNull CommandDispatcher<FabricClientCommandSource> dispatcher) {
+        dispatcher.register(ClientCommandManager.literal(ModContext.MOD_ID)
+                .then(ClientCommandManager.literal("stats")
+                        .executes(context -> stats(context.getSource(), StatsReport.DEFAULT_LIMIT))
+                        .then(ClientCommandManager.argument("limit", IntegerArgumentType.integer(0, StatsReport.MAX_LIMIT))
+                                .executes(context -> stats(context.getSource(), IntegerArgumentType.getInteger(context, "limit"))))));
+    }
+
+    private static int stats(@NotNull FabricClientCommandSource source, int limit) {
+        for (Component line : StatsReport.lines(Memora.repository.getStats(limit))) {
+            source.sendFeedback(line);
+        }
+        return 1;
+    }
+}
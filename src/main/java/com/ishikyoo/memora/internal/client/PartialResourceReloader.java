@@ -0,0 +1,224 @@
+package com.ishikyoo.memora.internal.client;
+
+import com.ishikyoo.memora.internal.InMemoryPack;
+import com.ishikyoo.memora.internal.InMemoryPackResources;
+import com.ishikyoo.memora.internal.InMemoryResourceReloader;
+import com.ishikyoo.memora.internal.Memora;
+import com.ishikyoo.memora.internal.ModContext;
+import com.ishikyoo.memora.mixin.ReloadableResourceManagerAccessor;
+import net.minecraft.Util;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.font.FontManager;
+import net.minecraft.client.particle.ParticleEngine;
+import net.minecraft.client.renderer.ShaderManager;
+import net.minecraft.client.renderer.block.BlockRenderDispatcher;
+import net.minecraft.client.renderer.texture.TextureManager;
+import net.minecraft.client.resources.GuiSpriteManager;
+import net.minecraft.client.resources.MapDecorationTextureManager;
+import net.minecraft.client.resources.PaintingTextureManager;
+import net.minecraft.client.resources.SplashManager;
+import net.minecraft.client.resources.language.LanguageManager;
+import net.minecraft.client.resources.model.ModelManager;
+import net.minecraft.client.sounds.SoundManager;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.PackResources;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.server.packs.resources.MultiPackResourceManager;
+import net.minecraft.server.packs.resources.PreparableReloadListener;
+import net.minecraft.server.packs.resources.ReloadableResourceManager;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.SimpleReloadInstance;
+import net.minecraft.util.Unit;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+@ApiStatus.Internal
+public final class PartialResourceReloader implements InMemoryResourceReloader {
+
+    private static final Logger LOGGER = ModContext.LOGGER;
+
+    private static final List<Rule> RULES = List.of(
+            new Rule("blockstates/", List.of(ModelManager.class, BlockRenderDispatcher.class), true),
+            new Rule("models/", List.of(ModelManager.class, BlockRenderDispatcher.class), true),
+            new Rule("items/", List.of(ModelManager.class), true),
+            new Rule("textures/font/", List.of(FontManager.class), false),
+            new Rule("lang/", List.of(LanguageManager.class), false),
+            new Rule("sounds/", List.of(SoundManager.class), false),
+            new Rule("sounds.json", List.of(SoundManager.class), false),
+            new Rule("font/", List.of(FontManager.class), false),
+            new Rule("shaders/", List.of(ShaderManager.class), false),
+            new Rule("post_effect/", List.of(ShaderManager.class), false),
+            new Rule("texts/", List.of(SplashManager.class), false)
+    );
+
+    private static final String COLORMAP_DIRECTORY = "textures/colormap/";
+
+    private static final Rule LOOSE_TEXTURES = new Rule("textures/", List.of(TextureManager.class), false);
+
+    private static final Map<ResourceLocation, Rule> ATLASES = atlases();
+
+    @Override
+    public @NotNull CompletableFuture<Void> reloadChanged() {
+        Minecraft minecraft = Minecraft.getInstance();
+        return CompletableFuture.supplyAsync(this::prepare, minecraft)
+                .thenCompose(plan -> plan == null ? CompletableFuture.completedFuture(null) : run(minecraft, plan));
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> reloadAll() {
+        Minecraft minecraft = Minecraft.getInstance();
+        return CompletableFuture.supplyAsync(minecraft::reloadResourcePacks, minecraft)
+                .thenCompose(reload -> reload);
+    }
+
+    private @Nullable Plan prepare() {
+        if (Minecraft.getInstance().getOverlay() != null) {
+            LOGGER.debug("A resource reload is already in progress, queueing a full reload for in-memory resources");
+            return Plan.FULL;
+        }
+
+        Set<ResourceLocation> changed = new HashSet<>();
+        List<InMemoryPack> packs = new ArrayList<>();
+        for (InMemoryPack pack : Memora.repository.getAvailablePacks()) {
+            if (pack.type() != PackType.CLIENT_RESOURCES || !pack.isDirty()) continue;
+            Set<ResourceLocation> drained = pack.drainDirtyResources();
+            if (pack.hasPinned()) {
+                changed.addAll(drained);
+                packs.add(pack);
+            }
+        }
+        if (changed.isEmpty()) return null;
+
+        Set<Class<? extends PreparableReloadListener>> listeners = new HashSet<>();
+        boolean rebuildLevel = false;
+        AtlasIndex atlases = null;
+        for (ResourceLocation location : changed) {
+            Rule rule = match(location);
+            if (rule != null) {
+                listeners.addAll(rule.listeners());
+                rebuildLevel |= rule.rebuildLevel();
+                continue;
+            }
+            if (!AtlasIndex.isTexture(location) || location.getPath().startsWith(COLORMAP_DIRECTORY)) {
+                LOGGER.debug("No partial reload rule for in-memory resource {}, falling back to a full reload", location);
+                return Plan.FULL;
+            }
+            if (atlases == null) atlases = AtlasIndex.load(Minecraft.getInstance().getResourceManager());
+            Set<ResourceLocation> affected = atlases.atlasesOf(location);
+            if (affected.isEmpty()) {
+                listeners.addAll(LOOSE_TEXTURES.listeners());
+                continue;
+            }
+            for (ResourceLocation atlas : affected) {
+                Rule atlasRule = ATLASES.get(atlas);
+                if (atlasRule == null) {
+                    LOGGER.debug("In-memory texture {} belongs to atlas {} without a partial reload rule, falling back to a full reload", location, atlas);
+                    return Plan.FULL;
+                }
+                listeners.addAll(atlasRule.listeners());
+                rebuildLevel |= atlasRule.rebuildLevel();
+            }
+        }
+        return new Plan(packs, listeners, rebuildLevel, false);
+    }
+
+    private static @NotNull Map<ResourceLocation, Rule> atlases() {
+        Map<ResourceLocation, Rule> atlases = new HashMap<>();
+        Rule models = new Rule("textures/", List.of(ModelManager.class, BlockRenderDispatcher.class), true);
+        for (String atlas : List.of("blocks", "banner_patterns", "beds", "chests", "shield_patterns", "signs",
+                "shulker_boxes", "armor_trims", "decorated_pot")) {
+            atlases.put(ResourceLocation.withDefaultNamespace(atlas), models);
+        }
+        atlases.put(ResourceLocation.withDefaultNamespace("gui"), new Rule("textures/", List.of(GuiSpriteManager.class), false));
+        atlases.put(ResourceLocation.withDefaultNamespace("paintings"), new Rule("textures/", List.of(PaintingTextureManager.class), false));
+        atlases.put(ResourceLocation.withDefaultNamespace("map_decorations"), new Rule("textures/", List.of(MapDecorationTextureManager.class), false));
+        atlases.put(ResourceLocation.withDefaultNamespace("particles"), new Rule("textures/", List.of(ParticleEngine.class), false));
+        return Map.copyOf(atlases);
+    }
+
+    private @NotNull CompletableFuture<Void> run(@NotNull Minecraft minecraft, @NotNull Plan plan) {
+        ResourceManager manager = minecraft.getResourceManager();
+        if (plan.full() || !(manager instanceof ReloadableResourceManager)) {
+            return minecraft.reloadResourcePacks();
+        }
+
+        List<InMemoryPackResources> previous = repin((ReloadableResourceManager) manager, plan.packs());
+        List<PreparableReloadListener> selected = new ArrayList<>();
+        for (PreparableReloadListener listener : ((ReloadableResourceManagerAccessor) manager).memora$getListeners()) {
+            for (Class<? extends PreparableReloadListener> type : plan.listeners()) {
+                if (type.isInstance(listener)) {
+                    selected.add(listener);
+                    break;
+                }
+            }
+        }
+        if (selected.isEmpty()) {
+            previous.forEach(InMemoryPackResources::close);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return SimpleReloadInstance.create(
+                        manager,
+                        selected,
+                        Util.backgroundExecutor(),
+                        minecraft,
+                        CompletableFuture.completedFuture(Unit.INSTANCE),
+                        LOGGER.isDebugEnabled())
+                .done()
+                .thenRunAsync(() -> {
+                    if (plan.rebuildLevel()) {
+                        minecraft.levelRenderer.allChanged();
+                    }
+                }, minecraft)
+                .whenComplete((unused, throwable) -> previous.forEach(InMemoryPackResources::close))
+                .exceptionallyCompose(throwable -> {
+                    LOGGER.warn("Partial reload of in-memory resources failed, falling back to a full reload", throwable);
+                    return minecraft.reloadResourcePacks();
+                });
+    }
+
+    private static @NotNull List<InMemoryPackResources> repin(@NotNull ReloadableResourceManager manager,
+                                                              @NotNull List<InMemoryPack> dirty) {
+        List<PackResources> packs = new ArrayList<>();
+        List<InMemoryPackResources> previous = new ArrayList<>();
+        manager.listPacks().forEach(resources -> {
+            for (InMemoryPack pack : dirty) {
+                Optional<InMemoryPackResources> snapshot = pack.repin(resources);
+                if (snapshot.isEmpty()) continue;
+                packs.add(snapshot.get());
+                previous.add((InMemoryPackResources) resources);
+                return;
+            }
+            packs.add(resources);
+        });
+        if (!previous.isEmpty()) {
+            ((ReloadableResourceManagerAccessor) manager).memora$setResources(
+                    new MultiPackResourceManager(PackType.CLIENT_RESOURCES, packs));
+        }
+        return previous;
+    }
+
+    private static @Nullable Rule match(@NotNull ResourceLocation location) {
+        String path = location.getPath();
+        for (Rule rule : RULES) {
+            if (path.startsWith(rule.prefix())) return rule;
+        }
+        return null;
+    }
+
+    private record Rule(@NotNull String prefix,
+                        @NotNull List<Class<? extends PreparableReloadListener>> listeners,
+                        boolean rebuildLevel) {}
+
+    private record Plan(@NotNull List<InMemoryPack> packs,
+                        @NotNull Set<Class<? extends PreparableReloadListener>> listeners,
+                        boolean rebuildLevel, boolean full) {
+
+        static final Plan FULL = new Plan(List.of(), Set.of(), false, true);
+    }
+}
@@ -0,0 +1,38 @@
+package com.ishikyoo.memora.internal.command;
+
+import com.ishikyoo.memora.api.Memora;
+import com.ishikyoo.memora.internal.ModContext;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+@ApiStatus.Internal
+public final class MemoraCommand {
+
+    private MemoraCommand() { }
+
+    public static void register() {
+        CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> register(dispatcher));
+    }
+
+    private static void register(@NotNull CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal(ModContext.MOD_ID)
+                .requires(source -> source.hasPermission(Commands.LEVEL_GAMEMASTERS))
+                .then(Commands.literal("stats")
+                        .executes(context -> stats(context.getSource(), StatsReport.DEFAULT_LIMIT))
+                        .then(Commands.argument("limit", IntegerArgumentType.integer(0, StatsReport.MAX_LIMIT))
+                                .executes(context -> stats(context.getSource(), IntegerArgumentType.getInteger(context, "limit"))))));
+    }
+
+    private static int stats(@NotNull CommandSourceStack source, int limit) {
+        for (Component line : StatsReport.lines(Memora.repository.getStats(limit))) {
+            source.sendSuccess(() -> line, false);
+        }
+        return 1;
+    }
+}
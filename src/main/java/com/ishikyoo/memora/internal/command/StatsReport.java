@@ -0,0 +1,88 @@
+package com.ishikyoo.memora.internal.command;
+
+import com.ishikyoo.memora.api.MemoraStats;
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@ApiStatus.Internal
+public final class StatsReport {
+
+    public static final int DEFAULT_LIMIT = 5;
+    public static final int MAX_LIMIT = 50;
+
+    private StatsReport() { }
+
+    public static @NotNull List<Component> lines(@NotNull MemoraStats stats) {
+        List<Component> lines = new ArrayList<>();
+        lines.add(Component.literal("Memora: " + stats.packs().size() + " packs, " + stats.resources() + " resources, "
+                + formatBytes(stats.storedBytes()) + " stored").withStyle(ChatFormatting.GOLD));
+        lines.add(line("By type", join(stats.resourcesByType(), type -> type.name().toLowerCase(Locale.ROOT), String::valueOf)));
+        lines.add(line("By storage", join(stats.storedBytesByStorage(), name -> name, StatsReport::formatBytes)));
+        lines.add(line("Deduplication", formatBytes(stats.deduplication().savedBytes()) + " saved across "
+                + stats.deduplication().references() + " references"));
+
+        for (MemoraStats.Pack pack : stats.packs()) {
+            lines.add(Component.literal("[" + pack.id() + "] " + pack.type().name().toLowerCase(Locale.ROOT) + ", "
+                    + pack.storage() + " " + formatBytes(pack.storedBytes()) + ", " + pack.resources() + " resources ("
+                    + pack.unmaterialized() + " not serialized)").withStyle(ChatFormatting.YELLOW));
+            lines.add(line("  Namespaces", join(pack.namespaces(), namespace -> namespace, String::valueOf)));
+            MemoraStats.Compression compression = pack.compression();
+            if (compression != null) {
+                lines.add(line("  Compression", formatBytes(compression.compressedBytes()) + " compressed, hot cache "
+                        + compression.hotEntries() + " entries / " + formatBytes(compression.hotBytes()) + ", "
+                        + compression.hits() + " hits / " + compression.misses() + " misses ("
+                        + String.format(Locale.ROOT, "%.1f%%", compression.hitRate() * 100) + ")"));
+            }
+            lines.add(line("  Largest", pack.largest().stream()
+                    .map(resource -> resource.location() + " " + formatBytes(resource.size()))
+                    .collect(Collectors.joining(", "))));
+            lines.add(line("  Most opened", pack.mostOpened().stream()
+                    .map(resource -> resource.location() + " x" + resource.opens())
+                    .collect(Collectors.joining(", "))));
+            String neverOpened = pack.neverOpened().stream().map(Object::toString).collect(Collectors.joining(", "));
+            lines.add(line("  Never opened", pack.neverOpenedCount() + (neverOpened.isEmpty() ? "" : " (" + neverOpened + ", ...)")));
+        }
+
+        if (!stats.serialization().isEmpty()) {
+            lines.add(Component.literal("Serialization").withStyle(ChatFormatting.GOLD));
+            stats.serialization().forEach((type, timing) -> lines.add(line("  " + type, timing.assets() + " assets, "
+                    + formatNanos(timing.nanos()) + " total, " + formatNanos(timing.averageNanos()) + " avg")));
+        }
+        return lines;
+    }
+
+    private static @NotNull Component line(@NotNull String label, @NotNull String value) {
+        return Component.literal(label + ": ").withStyle(ChatFormatting.GRAY)
+                .append(Component.literal(value.isEmpty() ? "-" : value).withStyle(ChatFormatting.WHITE));
+    }
+
+    private static <K, V> @NotNull String join(@NotNull Map<K, V> map,
+                                              @NotNull java.util.function.Function<K, String> key,
+                                              @NotNull java.util.function.Function<V, String> value) {
+        return map.entrySet().stream()
+                .map(entry -> key.apply(entry.getKey()) + "=" + value.apply(entry.getValue()))
+                .collect(Collectors.joining(", "));
+    }
+
+    static @NotNull String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format(Locale.ROOT, "%.1f KiB", bytes / 1024.0);
+        if (bytes < 1024L * 1024 * 1024) return String.format(Locale.ROOT, "%.1f MiB", bytes / (1024.0 * 1024));
+        return String.format(Locale.ROOT, "%.2f GiB", bytes / (1024.0 * 1024 * 1024));
+    }
+
+    static @NotNull String formatNanos(long nanos) {
+        if (nanos < 1_000) return nanos + " ns";
+        if (nanos < 1_000_000) return String.format(Locale.ROOT, "%.1f us", nanos / 1_000.0);
+        if (nanos < 1_000_000_000) return String.format(Locale.ROOT, "%.1f ms", nanos / 1_000_000.0);
+        return String.format(Locale.ROOT, "%.2f s", nanos / 1_000_000_000.0);
+    }
+}
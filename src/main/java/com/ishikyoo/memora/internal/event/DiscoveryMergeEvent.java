@@ -0,0 +1,31 @@
+package com.ishikyoo.memora.internal.event;
+
+import jdk.jfr.*;
+import org.jetbrains.annotations.ApiStatus;
+
+@ApiStatus.Internal
+@Name("memora.DiscoveryMerge")
+@Label("Discovery Merge")
+@Category({"Memora", "Packs"})
+@Description("Merge of in-memory packs into the vanilla pack discovery result")
+public final class DiscoveryMergeEvent extends Event {
+
+    @Label("Registry Generation")
+    long generation;
+
+    @Label("Discovered Packs")
+    int discovered;
+
+    @Label("In-Memory Packs")
+    int inMemory;
+
+    @Label("Merged Packs")
+    int merged;
+
+    public void set(long generation, int discovered, int inMemory, int merged) {
+        this.generation = generation;
+        this.discovered = discovered;
+        this.inMemory = inMemory;
+        this.merged = merged;
+    }
+}
@@ -0,0 +1,32 @@
+package com.ishikyoo.memora.internal.event;
+
+import jdk.jfr.*;
+import org.jetbrains.annotations.ApiStatus;
+
+@ApiStatus.Internal
+@Name("memora.ListResources")
+@Label("List Resources")
+@Category({"Memora", "Resources"})
+@Description("Listing of a directory of an in-memory pack")
+@StackTrace(false)
+public final class ListResourcesEvent extends Event {
+
+    @Label("Pack")
+    String pack;
+
+    @Label("Namespace")
+    String namespace;
+
+    @Label("Path")
+    String path;
+
+    @Label("Results")
+    int results;
+
+    public void set(String pack, String namespace, String path, int results) {
+        this.pack = pack;
+        this.namespace = namespace;
+        this.path = path;
+        this.results = results;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ishikyoo.memora.internal.event;
+
+import jdk.jfr.*;
+import org.jetbrains.annotations.ApiStatus;
+
+@ApiStatus.Internal
+@Name("memora.PackCommit")
+@Label("Pack Commit")
+@Category({"Memora", "Packs"})
+@Description("Registration, replacement or removal of in-memory packs in one repository transaction")
+public final class PackCommitEvent extends Event {
+
+    @Label("Additions")
+    int additions;
+
+    @Label("Removals")
+    int removals;
+
+    @Label("Serialized Assets")
+    int assets;
+
+    @Label("Serialization Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long serializationTime;
+
+    @Label("Storage Time")
+    @Description("Time spent storing serialized resources and creating the packs, including metadata parsing")
+    @Timespan(Timespan.NANOSECONDS)
+    long storageTime;
+
+    @Label("Committed")
+    boolean committed;
+
+    public void set(int additions, int removals, int assets, long serializationTime, long storageTime, boolean committed) {
+        this.additions = additions;
+        this.removals = removals;
+        this.assets = assets;
+        this.serializationTime = serializationTime;
+        this.storageTime = storageTime;
+        this.committed = committed;
+    }
+}
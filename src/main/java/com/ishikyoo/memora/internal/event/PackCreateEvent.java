@@ -0,0 +1,28 @@
+package com.ishikyoo.memora.internal.event;
+
+import jdk.jfr.*;
+import org.jetbrains.annotations.ApiStatus;
+
+@ApiStatus.Internal
+@Name("memora.PackCreate")
+@Label("Pack Create")
+@Category({"Memora", "Packs"})
+@Description("Creation of the vanilla pack backing an in-memory pack")
+public final class PackCreateEvent extends Event {
+
+    @Label("Pack")
+    String pack;
+
+    @Label("Resources")
+    int resources;
+
+    @Label("Metadata Parse Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long metadataTime;
+
+    public void set(String pack, int resources, long metadataTime) {
+        this.pack = pack;
+        this.resources = resources;
+        this.metadataTime = metadataTime;
+    }
+}
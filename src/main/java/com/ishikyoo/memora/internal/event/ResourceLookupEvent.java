@@ -0,0 +1,31 @@
+package com.ishikyoo.memora.internal.event;
+
+import jdk.jfr.*;
+import org.jetbrains.annotations.ApiStatus;
+
+@ApiStatus.Internal
+@Name("memora.ResourceLookup")
+@Label("Resource Lookup")
+@Category({"Memora", "Resources"})
+@Description("Lookup of a resource in an in-memory pack")
+@StackTrace(false)
+public final class ResourceLookupEvent extends Event {
+
+    @Label("Pack")
+    String pack;
+
+    @Label("Resource")
+    String resource;
+
+    @Label("Hit")
+    boolean hit;
+
+    public static void emit(String pack, Object resource, boolean hit) {
+        ResourceLookupEvent event = new ResourceLookupEvent();
+        if (!event.shouldCommit()) return;
+        event.pack = pack;
+        event.resource = String.valueOf(resource);
+        event.hit = hit;
+        event.commit();
+    }
+}
@@ -0,0 +1,29 @@
+package com.ishikyoo.memora.internal.event;
+
+import jdk.jfr.*;
+import org.jetbrains.annotations.ApiStatus;
+
+@ApiStatus.Internal
+@Name("memora.ResourceOpen")
+@Label("Resource Open")
+@Category({"Memora", "Resources"})
+@Description("Opening of an in-memory resource stream")
+@StackTrace(false)
+public final class ResourceOpenEvent extends Event {
+
+    @Label("Pack")
+    String pack;
+
+    @Label("Resource")
+    String resource;
+
+    @Label("Bytes Served")
+    @DataAmount
+    long bytes;
+
+    public void set(String pack, Object resource, long bytes) {
+        this.pack = pack;
+        this.resource = String.valueOf(resource);
+        this.bytes = bytes;
+    }
+}
@@ -0,0 +1,81 @@
+package com.ishikyoo.memora.internal.server;
+
+import com.ishikyoo.memora.internal.InMemoryPack;
+import com.ishikyoo.memora.internal.InMemoryPackResources;
+import com.ishikyoo.memora.internal.InMemoryResource;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@ApiStatus.Internal
+public record PackArchive(@NotNull Path path, long size, @NotNull String sha1,
+                          @NotNull InMemoryPack pack, long generation) {
+
+    private static final LocalDateTime ENTRY_TIME = LocalDateTime.of(1980, 1, 1, 0, 0);
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    public static @NotNull PackArchive write(@NotNull InMemoryPack pack, @NotNull Path directory) throws IOException {
+        InMemoryPackResources resources = pack.resources();
+        long generation = resources.generation();
+        List<Entry> entries = new ArrayList<>(resources.getResourcesCount());
+        String directoryName = pack.type().getDirectory();
+        resources.forEachResource(resource -> entries.add(new Entry(entryName(directoryName, resource.location()), resource)));
+        resources.forEachProvidedResource(resource -> entries.add(new Entry(entryName(directoryName, resource.location()), resource)));
+        entries.sort(Comparator.comparing(Entry::name));
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is not available", e);
+        }
+
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, "pack-", ".tmp");
+        try {
+            try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(
+                    new DigestOutputStream(Files.newOutputStream(temporary), digest), WRITE_BUFFER_SIZE))) {
+                for (Entry entry : entries) {
+                    ZipEntry zipEntry = new ZipEntry(entry.name());
+                    zipEntry.setTimeLocal(ENTRY_TIME);
+                    zip.putNextEntry(zipEntry);
+                    try (InputStream input = entry.resource().buffer().open()) {
+                        input.transferTo(zip);
+                    }
+                    zip.closeEntry();
+                }
+            }
+            String sha1 = HexFormat.of().formatHex(digest.digest());
+            Path path = directory.resolve(sha1 + ".zip");
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new PackArchive(path, Files.size(path), sha1, pack, generation);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+    }
+
+    private static @NotNull String entryName(@NotNull String directoryName, @NotNull ResourceLocation location) {
+        if (location.getNamespace().equals(InMemoryPackResources.ROOT_NAMESPACE)) return location.getPath();
+        return directoryName + "/" + location.getNamespace() + "/" + location.getPath();
+    }
+
+    private record Entry(@NotNull String name, @NotNull InMemoryResource resource) {}
+}
@@ -0,0 +1,95 @@
+package com.ishikyoo.memora.internal.server;
+
+import com.ishikyoo.memora.internal.InMemoryPack;
+import com.ishikyoo.memora.internal.Memora;
+import com.ishikyoo.memora.internal.ModContext;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@ApiStatus.Internal
+public final class PackArchiveCache {
+
+    private static final Logger LOGGER = ModContext.LOGGER;
+
+    private final @NotNull String packId;
+    private final @NotNull Path directory;
+    private final @NotNull Executor executor;
+    private @Nullable Build build;
+    private volatile @Nullable PackArchive current;
+
+    public PackArchiveCache(@NotNull String packId, @NotNull Path directory, @NotNull Executor executor) {
+        this.packId = packId;
+        this.directory = directory;
+        this.executor = executor;
+    }
+
+    public @NotNull String packId() {
+        return packId;
+    }
+
+    public @NotNull Optional<PackArchive> current() {
+        return Optional.ofNullable(current);
+    }
+
+    public synchronized @NotNull CompletableFuture<PackArchive> archive() {
+        InMemoryPack pack = Memora.repository.getPack(packId).orElse(null);
+        if (pack == null) {
+            return CompletableFuture.failedFuture(new NoSuchElementException("No in-memory pack registered with id: " + packId));
+        }
+        long generation = pack.resources().generation();
+        Build build = this.build;
+        if (build != null && build.pack == pack && build.generation == generation
+                && !build.future.isCompletedExceptionally()) {
+            return build.future;
+        }
+        CompletableFuture<PackArchive> future = CompletableFuture.supplyAsync(() -> {
+            try {
+                return PackArchive.write(pack, directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor);
+        future.thenAccept(this::publish);
+        this.build = new Build(pack, generation, future);
+        return future;
+    }
+
+    public synchronized void close() {
+        build = null;
+        PackArchive archive = current;
+        current = null;
+        if (archive != null) delete(archive.path());
+    }
+
+    private synchronized void publish(@NotNull PackArchive archive) {
+        Build build = this.build;
+        PackArchive previous = current;
+        if (build == null || build.pack != archive.pack() || build.generation != archive.generation()) {
+            if (previous == null || !previous.path().equals(archive.path())) delete(archive.path());
+            return;
+        }
+        current = archive;
+        if (previous != null && !previous.path().equals(archive.path())) delete(previous.path());
+    }
+
+    private static void delete(@NotNull Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to delete stale in-memory server resource pack: {}", path, e);
+        }
+    }
+
+    private record Build(@NotNull InMemoryPack pack, long generation, @NotNull CompletableFuture<PackArchive> future) {}
+}
@@ -0,0 +1,193 @@
+package com.ishikyoo.memora.internal.server;
+
+import com.ishikyoo.memora.internal.ModContext;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ApiStatus.Internal
+public final class PackHttpServer {
+
+    private static final Logger LOGGER = ModContext.LOGGER;
+
+    public static final String CONTEXT = "/pack/";
+
+    private static final String CONTENT_TYPE = "application/zip";
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final String EXTENSION = ".zip";
+
+    private final @NotNull PackArchiveCache cache;
+    private final @NotNull HttpServer server;
+    private final @NotNull ExecutorService executor;
+
+    private PackHttpServer(@NotNull PackArchiveCache cache, @NotNull HttpServer server, @NotNull ExecutorService executor) {
+        this.cache = cache;
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static @NotNull PackHttpServer start(@NotNull PackArchiveCache cache, @NotNull InetSocketAddress address)
+            throws IOException {
+        HttpServer server = HttpServer.create(address, 0);
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "Memora Pack Delivery #" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        PackHttpServer packServer = new PackHttpServer(cache, server, executor);
+        server.createContext(CONTEXT, packServer::handle);
+        server.setExecutor(executor);
+        server.start();
+        return packServer;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(@NotNull HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            boolean head = method.equals("HEAD");
+            if (!head && !method.equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            String name = exchange.getRequestURI().getPath().substring(CONTEXT.length());
+            Served served = open(name);
+            if (served == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            try (FileChannel channel = served.channel()) {
+                PackArchive archive = served.archive();
+                String etag = "\"" + archive.sha1() + "\"";
+                Headers request = exchange.getRequestHeaders();
+                Headers response = exchange.getResponseHeaders();
+                response.set("ETag", etag);
+                response.set("Accept-Ranges", "bytes");
+                response.set("Cache-Control", CACHE_CONTROL);
+                response.set("Content-Type", CONTENT_TYPE);
+
+                if (matches(request.getFirst("If-None-Match"), etag)) {
+                    exchange.sendResponseHeaders(304, -1);
+                    return;
+                }
+
+                long size = archive.size();
+                long start = 0;
+                long length = size;
+                int status = 200;
+                String range = request.getFirst("Range");
+                String ifRange = request.getFirst("If-Range");
+                if (range != null && range.indexOf(',') == -1 && (ifRange == null || ifRange.equals(etag))) {
+                    long[] bounds = parseRange(range, size);
+                    if (bounds == null) {
+                        response.set("Content-Range", "bytes */" + size);
+                        exchange.sendResponseHeaders(416, -1);
+                        return;
+                    }
+                    start = bounds[0];
+                    length = bounds[1] - bounds[0] + 1;
+                    status = 206;
+                    response.set("Content-Range", "bytes " + bounds[0] + "-" + bounds[1] + "/" + size);
+                }
+
+                if (head) {
+                    response.set("Content-Length", Long.toString(length));
+                    exchange.sendResponseHeaders(status, -1);
+                    return;
+                }
+                exchange.sendResponseHeaders(status, length == 0 ? -1 : length);
+                if (length == 0) return;
+                OutputStream body = exchange.getResponseBody();
+                WritableByteChannel target = Channels.newChannel(body);
+                long position = start;
+                long end = start + length;
+                while (position < end) {
+                    long transferred = channel.transferTo(position, end - position, target);
+                    if (transferred <= 0) throw new IOException("Unexpected end of server resource pack: " + archive.path());
+                    position += transferred;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Failed to serve in-memory server resource pack to: {}", exchange.getRemoteAddress(), e);
+        }
+    }
+
+    private @Nullable Served open(@NotNull String name) throws IOException {
+        PackArchive archive = cache.current().orElse(null);
+        while (archive != null && name.equals(archive.sha1() + EXTENSION)) {
+            try {
+                return new Served(archive, FileChannel.open(archive.path(), StandardOpenOption.READ));
+            } catch (NoSuchFileException e) {
+                PackArchive current = cache.current().orElse(null);
+                if (current == archive) throw e;
+                archive = current;
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches(@Nullable String ifNoneMatch, @NotNull String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) return true;
+        }
+        return false;
+    }
+
+    private static long @Nullable [] parseRange(@NotNull String header, long size) {
+        if (!header.startsWith("bytes=")) return null;
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash == -1) return null;
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) return null;
+                start = Math.max(0, size - suffix);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+            }
+            if (start < 0 || start >= size || end < start) return null;
+            return new long[] { start, end };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private record Served(@NotNull PackArchive archive, @NotNull FileChannel channel) {}
+}
@@ -0,0 +1,115 @@
+package com.ishikyoo.memora.internal.server;
+
+import com.ishikyoo.memora.internal.ModContext;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.PacketSender;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.common.ClientboundResourcePackPushPacket;
+import net.minecraft.server.MinecraftServer;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+@ApiStatus.Internal
+public final class ServerPackDelivery {
+
+    private static final Logger LOGGER = ModContext.LOGGER;
+
+    public static final String PACK_PROPERTY = "memora.delivery.pack";
+    public static final String BIND_PROPERTY = "memora.delivery.bind";
+    public static final String PORT_PROPERTY = "memora.delivery.port";
+    public static final String URL_PROPERTY = "memora.delivery.url";
+    public static final String REQUIRED_PROPERTY = "memora.delivery.required";
+    public static final String PROMPT_PROPERTY = "memora.delivery.prompt";
+
+    private static final String DEFAULT_BIND = "0.0.0.0";
+    private static final int DEFAULT_PORT = 25580;
+    private static final String LOOPBACK_HOST = "127.0.0.1";
+
+    private final @NotNull PackArchiveCache cache;
+    private final @NotNull UUID id;
+    private final boolean required;
+    private final @NotNull Optional<Component> prompt;
+    private volatile @Nullable PackHttpServer server;
+    private volatile @Nullable String baseUrl;
+
+    private ServerPackDelivery(@NotNull String packId) {
+        this.cache = new PackArchiveCache(packId, directory(), ForkJoinPool.commonPool());
+        this.id = UUID.nameUUIDFromBytes((ModContext.MOD_ID + ":" + packId).getBytes(StandardCharsets.UTF_8));
+        this.required = Boolean.getBoolean(REQUIRED_PROPERTY);
+        String prompt = System.getProperty(PROMPT_PROPERTY);
+        this.prompt = prompt == null ? Optional.empty() : Optional.of(Component.literal(prompt));
+    }
+
+    public static void register() {
+        String packId = System.getProperty(PACK_PROPERTY);
+        if (packId == null || packId.isBlank()) return;
+        ServerPackDelivery delivery = new ServerPackDelivery(packId);
+        ServerLifecycleEvents.SERVER_STARTED.register(delivery::start);
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> delivery.stop());
+        ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> delivery.push(sender, server));
+    }
+
+    public static @NotNull Path directory() {
+        return FabricLoader.getInstance().getGameDir().resolve(ModContext.MOD_ID).resolve("server");
+    }
+
+    private void start(@NotNull MinecraftServer minecraftServer) {
+        String bind = System.getProperty(BIND_PROPERTY, DEFAULT_BIND);
+        int port = Integer.getInteger(PORT_PROPERTY, DEFAULT_PORT);
+        try {
+            PackHttpServer server = PackHttpServer.start(cache, new InetSocketAddress(bind, port));
+            this.server = server;
+            this.baseUrl = baseUrl(minecraftServer, server.port());
+        } catch (IOException e) {
+            LOGGER.warn("Failed to start the in-memory server resource pack endpoint on {}:{}", bind, port, e);
+            return;
+        }
+        cache.archive().exceptionally(error -> {
+            LOGGER.warn("Failed to build the server resource pack for in-memory pack: {}", cache.packId(), error);
+            return null;
+        });
+    }
+
+    private void stop() {
+        PackHttpServer server = this.server;
+        this.server = null;
+        this.baseUrl = null;
+        if (server != null) server.stop();
+        cache.close();
+    }
+
+    private void push(@NotNull PacketSender sender, @NotNull MinecraftServer minecraftServer) {
+        if (server == null) return;
+        cache.archive().whenComplete((archive, error) -> {
+            if (error != null) {
+                LOGGER.warn("Failed to build the server resource pack for in-memory pack: {}", cache.packId(), error);
+                return;
+            }
+            String baseUrl = this.baseUrl;
+            if (baseUrl == null) return;
+            String url = baseUrl + PackHttpServer.CONTEXT + archive.sha1() + ".zip";
+            minecraftServer.execute(() -> sender.sendPacket(
+                    new ClientboundResourcePackPushPacket(id, url, archive.sha1(), required, prompt)));
+        });
+    }
+
+    private static @NotNull String baseUrl(@NotNull MinecraftServer minecraftServer, int port) {
+        String url = System.getProperty(URL_PROPERTY);
+        if (url != null && !url.isBlank()) return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        String host = minecraftServer.getLocalIp();
+        if (host == null || host.isBlank()) host = LOOPBACK_HOST;
+        return "http://" + host + ":" + port;
+    }
+}
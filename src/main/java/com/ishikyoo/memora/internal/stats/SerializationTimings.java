@@ -0,0 +1,47 @@
+package com.ishikyoo.memora.internal.stats;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@ApiStatus.Internal
+public final class SerializationTimings {
+
+    private static final Map<Class<?>, Timing> TIMINGS = new ConcurrentHashMap<>();
+
+    private SerializationTimings() { }
+
+    public static void record(@NotNull Class<?> type, long nanos) {
+        Timing timing = TIMINGS.computeIfAbsent(type, ignored -> new Timing());
+        timing.count.increment();
+        timing.nanos.add(nanos);
+    }
+
+    public static @NotNull Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshot = new TreeMap<>();
+        TIMINGS.forEach((type, timing) -> snapshot.put(name(type), new Snapshot(timing.count.sum(), timing.nanos.sum())));
+        return snapshot;
+    }
+
+    public static void reset() {
+        TIMINGS.clear();
+    }
+
+    private static @NotNull String name(@NotNull Class<?> type) {
+        String name = type.getSimpleName();
+        return name.isEmpty() ? type.getName() : name;
+    }
+
+    public record Snapshot(long count, long nanos) {
+    }
+
+    private static final class Timing {
+
+        final @NotNull LongAdder count = new LongAdder();
+        final @NotNull LongAdder nanos = new LongAdder();
+    }
+}
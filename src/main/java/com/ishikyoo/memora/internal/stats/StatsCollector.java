@@ -0,0 +1,123 @@
+package com.ishikyoo.memora.internal.stats;
+
+import com.ishikyoo.memora.api.InMemoryDeduplicationStats;
+import com.ishikyoo.memora.api.MemoraStats;
+import com.ishikyoo.memora.internal.InMemoryPack;
+import com.ishikyoo.memora.internal.InMemoryPackRepository;
+import com.ishikyoo.memora.internal.InMemoryPackResources;
+import com.ishikyoo.memora.internal.InMemoryResource;
+import com.ishikyoo.memora.internal.storage.CompressedResourceStorage;
+import com.ishikyoo.memora.internal.storage.ContentStore;
+import com.ishikyoo.memora.internal.storage.ResourceStorage;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.PackType;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+@ApiStatus.Internal
+public final class StatsCollector {
+
+    private static final Comparator<MemoraStats.Resource> BY_SIZE =
+            Comparator.comparingInt(MemoraStats.Resource::size);
+    private static final Comparator<MemoraStats.Resource> BY_OPENS =
+            Comparator.comparingInt(MemoraStats.Resource::opens);
+
+    private StatsCollector() { }
+
+    public static @NotNull MemoraStats collect(@NotNull InMemoryPackRepository repository, int limit) {
+        if (limit < 0) throw new IllegalArgumentException("Limit must be >= 0");
+
+        List<InMemoryPack> available = new ArrayList<>(repository.getAvailablePacks());
+        available.sort(Comparator.comparing(pack -> pack.location().id()));
+
+        List<MemoraStats.Pack> packs = new ArrayList<>(available.size());
+        Map<PackType, Integer> resourcesByType = new EnumMap<>(PackType.class);
+        Map<String, Long> storedBytesByStorage = new TreeMap<>();
+        for (InMemoryPack pack : available) {
+            MemoraStats.Pack stats = collect(pack, limit);
+            packs.add(stats);
+            resourcesByType.merge(stats.type(), stats.resources(), Integer::sum);
+            storedBytesByStorage.merge(stats.storage(), stats.storedBytes(), Long::sum);
+        }
+
+        Map<String, MemoraStats.Serialization> serialization = new LinkedHashMap<>();
+        SerializationTimings.snapshot().forEach((type, timing) ->
+                serialization.put(type, new MemoraStats.Serialization(timing.count(), timing.nanos())));
+
+        ContentStore.Stats dedup = ContentStore.GLOBAL.stats();
+        return new MemoraStats(
+                List.copyOf(packs),
+                Collections.unmodifiableMap(resourcesByType),
+                Collections.unmodifiableMap(storedBytesByStorage),
+                Collections.unmodifiableMap(serialization),
+                new InMemoryDeduplicationStats(dedup.entries(), dedup.references(), dedup.uniqueBytes(), dedup.referencedBytes())
+        );
+    }
+
+    private static @NotNull MemoraStats.Pack collect(@NotNull InMemoryPack pack, int limit) {
+        InMemoryPackResources resources = pack.resources();
+        ResourceStorage storage = resources.storage();
+
+        PriorityQueue<MemoraStats.Resource> largest = new PriorityQueue<>(BY_SIZE);
+        PriorityQueue<MemoraStats.Resource> mostOpened = new PriorityQueue<>(BY_OPENS);
+        List<ResourceLocation> neverOpened = new ArrayList<>();
+        int[] counts = new int[3];
+
+        resources.forEachResource(resource -> {
+            counts[0]++;
+            boolean materialized = resource.isMaterialized();
+            if (!materialized) counts[1]++;
+            int opens = resource.opens();
+            MemoraStats.Resource stats = new MemoraStats.Resource(resource.location(), materialized ? resource.size() : -1, opens);
+            if (materialized) offer(largest, stats, BY_SIZE, limit);
+            if (opens > 0) {
+                offer(mostOpened, stats, BY_OPENS, limit);
+            } else {
+                counts[2]++;
+                if (neverOpened.size() < limit) neverOpened.add(resource.location());
+            }
+        });
+
+        return new MemoraStats.Pack(
+                pack.location().id(),
+                pack.type(),
+                storage.name(),
+                storage.storedBytes(),
+                counts[0],
+                counts[1],
+                resources.getNamespaceResourcesCounts(),
+                drain(largest, BY_SIZE),
+                drain(mostOpened, BY_OPENS),
+                List.copyOf(neverOpened),
+                counts[2],
+                compression(storage)
+        );
+    }
+
+    private static @Nullable MemoraStats.Compression compression(@NotNull ResourceStorage storage) {
+        if (!(storage instanceof CompressedResourceStorage compressed)) return null;
+        CompressedResourceStorage.Stats stats = compressed.stats();
+        return new MemoraStats.Compression(stats.compressedBytes(), stats.hotEntries(), stats.hotBytes(), stats.hits(), stats.misses());
+    }
+
+    private static void offer(@NotNull PriorityQueue<MemoraStats.Resource> queue, @NotNull MemoraStats.Resource resource,
+                              @NotNull Comparator<MemoraStats.Resource> comparator, int limit) {
+        if (limit == 0) return;
+        if (queue.size() < limit) {
+            queue.add(resource);
+        } else if (comparator.compare(resource, queue.peek()) > 0) {
+            queue.poll();
+            queue.add(resource);
+        }
+    }
+
+    private static @NotNull List<MemoraStats.Resource> drain(@NotNull PriorityQueue<MemoraStats.Resource> queue,
+                                                             @NotNull Comparator<MemoraStats.Resource> comparator) {
+        List<MemoraStats.Resource> sorted = new ArrayList<>(queue);
+        sorted.sort(comparator.reversed());
+        return List.copyOf(sorted);
+    }
+}
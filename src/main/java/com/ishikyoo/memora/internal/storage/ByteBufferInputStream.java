@@ -0,0 +1,112 @@
+package com.ishikyoo.memora.internal.storage;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+@ApiStatus.Internal
+public final class ByteBufferInputStream extends InputStream {
+
+    private final @NotNull ByteBuffer buffer;
+    private final byte @Nullable [] array;
+    private @Nullable Runnable onClose;
+
+    public ByteBufferInputStream(@NotNull ByteBuffer buffer) {
+        this(buffer, null);
+    }
+
+    public ByteBufferInputStream(@NotNull ByteBuffer buffer, @Nullable Runnable onClose) {
+        this(Objects.requireNonNull(buffer), null, onClose);
+    }
+
+    private ByteBufferInputStream(@NotNull ByteBuffer buffer, byte @Nullable [] array, @Nullable Runnable onClose) {
+        this.buffer = buffer;
+        this.array = array;
+        this.onClose = onClose;
+    }
+
+    public static @NotNull ByteBufferInputStream ofArray(byte @NotNull [] bytes) {
+        return new ByteBufferInputStream(ByteBuffer.wrap(bytes).asReadOnlyBuffer(), bytes, null);
+    }
+
+    public @NotNull ByteBuffer buffer() {
+        return buffer.slice().asReadOnlyBuffer();
+    }
+
+    public boolean isDirect() {
+        return buffer.isDirect();
+    }
+
+    @Override
+    public int read() {
+        return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte @NotNull [] bytes, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        if (length == 0) return 0;
+        if (!buffer.hasRemaining()) return -1;
+        int count = Math.min(length, buffer.remaining());
+        buffer.get(bytes, offset, count);
+        return count;
+    }
+
+    @Override
+    public byte @NotNull [] readAllBytes() {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public long transferTo(@NotNull OutputStream out) throws IOException {
+        int count = buffer.remaining();
+        if (array != null) {
+            out.write(array, buffer.position(), count);
+            buffer.position(buffer.limit());
+            return count;
+        }
+        if (buffer.hasArray()) {
+            out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), count);
+            buffer.position(buffer.limit());
+            return count;
+        }
+        byte[] chunk = new byte[Math.min(count, 8192)];
+        while (buffer.hasRemaining()) {
+            int length = Math.min(chunk.length, buffer.remaining());
+            buffer.get(chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+        return count;
+    }
+
+    @Override
+    public long skip(long n) {
+        if (n <= 0) return 0;
+        int count = (int) Math.min(n, buffer.remaining());
+        buffer.position(buffer.position() + count);
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public void close() {
+        Runnable onClose;
+        synchronized (this) {
+            onClose = this.onClose;
+            this.onClose = null;
+        }
+        if (onClose != null) onClose.run();
+    }
+}
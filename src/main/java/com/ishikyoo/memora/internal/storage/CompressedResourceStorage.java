@@ -0,0 +1,224 @@
+package com.ishikyoo.memora.internal.storage;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+@ApiStatus.Internal
+public final class CompressedResourceStorage implements ResourceStorage {
+
+    public static final int DEFAULT_HOT_CAPACITY = 32 * 1024 * 1024;
+
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int DICTIONARY_SAMPLE_SIZE = 1024;
+
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(Deflater.DEFAULT_COMPRESSION));
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private final int hotCapacity;
+    private final @NotNull Map<Buffer, byte[]> hot = new LinkedHashMap<>(16, 0.75f, true);
+    private long hotBytes;
+
+    private final byte @NotNull [] samples = new byte[DICTIONARY_SIZE];
+    private int sampled;
+    private volatile byte @Nullable [] dictionary;
+
+    private final @NotNull AtomicLong storedBytes = new AtomicLong();
+    private final @NotNull AtomicLong compressedBytes = new AtomicLong();
+    private final @NotNull LongAdder hits = new LongAdder();
+    private final @NotNull LongAdder misses = new LongAdder();
+
+    public CompressedResourceStorage() {
+        this(DEFAULT_HOT_CAPACITY);
+    }
+
+    public CompressedResourceStorage(int hotCapacity) {
+        this.hotCapacity = hotCapacity;
+    }
+
+    @Override
+    public @NotNull ResourceBuffer store(byte @NotNull [] bytes) {
+        byte[] dictionary = this.dictionary;
+        byte[] compressed = deflate(bytes, dictionary);
+        storedBytes.addAndGet(bytes.length);
+        if (compressed.length >= bytes.length) {
+            compressedBytes.addAndGet(bytes.length);
+            return new Buffer(this, bytes, bytes.length, null, false);
+        }
+        if (dictionary == null) {
+            sample(bytes);
+        }
+        compressedBytes.addAndGet(compressed.length);
+        return new Buffer(this, compressed, bytes.length, dictionary, true);
+    }
+
+    @Override
+    public @NotNull String name() {
+        return "compressed";
+    }
+
+    @Override
+    public long storedBytes() {
+        return storedBytes.get();
+    }
+
+    public long compressedBytes() {
+        return compressedBytes.get();
+    }
+
+    public @NotNull Stats stats() {
+        synchronized (hot) {
+            return new Stats(storedBytes.get(), compressedBytes.get(), hot.size(), hotBytes, hits.sum(), misses.sum());
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (hot) {
+            hot.clear();
+            hotBytes = 0;
+        }
+    }
+
+    private synchronized void sample(byte @NotNull [] bytes) {
+        if (dictionary != null) return;
+        int length = Math.min(Math.min(bytes.length, DICTIONARY_SAMPLE_SIZE), DICTIONARY_SIZE - sampled);
+        System.arraycopy(bytes, 0, samples, sampled, length);
+        sampled += length;
+        if (sampled == DICTIONARY_SIZE) {
+            dictionary = samples;
+        }
+    }
+
+    private byte @NotNull [] load(@NotNull Buffer buffer) {
+        synchronized (hot) {
+            byte[] bytes = hot.get(buffer);
+            if (bytes != null) {
+                hits.increment();
+                return bytes;
+            }
+        }
+        misses.increment();
+        byte[] bytes = inflate(buffer);
+        if (bytes.length > hotCapacity) return bytes;
+        synchronized (hot) {
+            if (buffer.released.get()) return bytes;
+            if (hot.put(buffer, bytes) == null) {
+                hotBytes += bytes.length;
+            }
+            Iterator<byte[]> iterator = hot.values().iterator();
+            while (hotBytes > hotCapacity && iterator.hasNext()) {
+                hotBytes -= iterator.next().length;
+                iterator.remove();
+            }
+        }
+        return bytes;
+    }
+
+    private void release(@NotNull Buffer buffer) {
+        storedBytes.addAndGet(-buffer.size);
+        compressedBytes.addAndGet(-buffer.data.length);
+        synchronized (hot) {
+            byte[] bytes = hot.remove(buffer);
+            if (bytes != null) hotBytes -= bytes.length;
+        }
+    }
+
+    private static byte @NotNull [] deflate(byte @NotNull [] bytes, byte @Nullable [] dictionary) {
+        Deflater deflater = DEFLATER.get();
+        deflater.reset();
+        if (dictionary != null) {
+            deflater.setDictionary(dictionary);
+        }
+        deflater.setInput(bytes);
+        deflater.finish();
+        byte[] output = new byte[Math.max(64, bytes.length / 2)];
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == output.length) {
+                if (length >= bytes.length) return bytes;
+                output = Arrays.copyOf(output, Math.min(output.length * 2, bytes.length + 64));
+            }
+            length += deflater.deflate(output, length, output.length - length);
+        }
+        return Arrays.copyOf(output, length);
+    }
+
+    private static byte @NotNull [] inflate(@NotNull Buffer buffer) {
+        if (!buffer.compressed) return buffer.data;
+        Inflater inflater = INFLATER.get();
+        inflater.reset();
+        inflater.setInput(buffer.data);
+        byte[] output = new byte[buffer.size];
+        int length = 0;
+        try {
+            while (length < output.length) {
+                int count = inflater.inflate(output, length, output.length - length);
+                if (count == 0) {
+                    if (inflater.needsDictionary() && buffer.dictionary != null) {
+                        inflater.setDictionary(buffer.dictionary);
+                    } else if (inflater.finished() || inflater.needsInput()) {
+                        break;
+                    }
+                }
+                length += count;
+            }
+        } catch (DataFormatException e) {
+            throw new UncheckedIOException(new java.io.IOException("Corrupted compressed in-memory resource", e));
+        }
+        if (length != output.length) {
+            throw new IllegalStateException("Compressed in-memory resource inflated to " + length + " bytes, expected " + output.length);
+        }
+        return output;
+    }
+
+    public record Stats(long storedBytes, long compressedBytes, int hotEntries, long hotBytes, long hits, long misses) {}
+
+    private static final class Buffer implements ResourceBuffer {
+
+        private final @NotNull CompressedResourceStorage storage;
+        private final byte @NotNull [] data;
+        private final int size;
+        private final byte @Nullable [] dictionary;
+        private final boolean compressed;
+        private final @NotNull AtomicBoolean released = new AtomicBoolean();
+
+        private Buffer(@NotNull CompressedResourceStorage storage, byte @NotNull [] data, int size,
+                       byte @Nullable [] dictionary, boolean compressed) {
+            this.storage = storage;
+            this.data = data;
+            this.size = size;
+            this.dictionary = dictionary;
+            this.compressed = compressed;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public @NotNull ByteBuffer buffer() {
+            return ByteBuffer.wrap(compressed ? storage.load(this) : data).asReadOnlyBuffer();
+        }
+
+        @Override
+        public void release() {
+            if (!released.compareAndSet(false, true)) return;
+            storage.release(this);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.ishikyoo.memora.internal.storage;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@ApiStatus.Internal
+public final class ContentStore {
+
+    public static final ContentStore GLOBAL = new ContentStore();
+
+    private static final HashFunction HASH = Hashing.murmur3_128();
+
+    private final @NotNull Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final @NotNull AtomicLong references = new AtomicLong();
+    private final @NotNull AtomicLong uniqueBytes = new AtomicLong();
+    private final @NotNull AtomicLong referencedBytes = new AtomicLong();
+
+    public static @NotNull HashCode hash(byte @NotNull [] bytes) {
+        return HASH.hashBytes(bytes);
+    }
+
+    public static @NotNull HashCode hash(@NotNull ByteBuffer buffer) {
+        return HASH.hashBytes(buffer);
+    }
+
+    public @NotNull Entry acquire(byte @NotNull [] bytes) {
+        Key key = new Key(hash(bytes), bytes.length);
+        Entry[] acquired = new Entry[1];
+        entries.compute(key, (k, entry) -> {
+            if (entry == null) {
+                acquired[0] = new Entry(this, key, bytes);
+                uniqueBytes.addAndGet(bytes.length);
+                return acquired[0];
+            }
+            if (!Arrays.equals(entry.bytes, bytes)) {
+                acquired[0] = new Entry(this, key, bytes);
+                return entry;
+            }
+            entry.references++;
+            acquired[0] = entry;
+            return entry;
+        });
+        references.incrementAndGet();
+        referencedBytes.addAndGet(bytes.length);
+        return acquired[0];
+    }
+
+    private void release(@NotNull Entry released) {
+        references.decrementAndGet();
+        referencedBytes.addAndGet(-released.bytes.length);
+        entries.computeIfPresent(released.key, (k, entry) -> {
+            if (entry != released) return entry;
+            if (--entry.references > 0) return entry;
+            uniqueBytes.addAndGet(-entry.bytes.length);
+            return null;
+        });
+    }
+
+    public @NotNull Stats stats() {
+        return new Stats(entries.size(), references.get(), uniqueBytes.get(), referencedBytes.get());
+    }
+
+    public record Stats(long entries, long references, long uniqueBytes, long referencedBytes) {
+
+        public long savedBytes() {
+            return referencedBytes - uniqueBytes;
+        }
+    }
+
+    private record Key(@NotNull HashCode hash, int length) {}
+
+    @ApiStatus.Internal
+    public static final class Entry {
+
+        private final @NotNull ContentStore store;
+        private final @NotNull Key key;
+        private final byte @NotNull [] bytes;
+        private int references = 1;
+
+        private Entry(@NotNull ContentStore store, @NotNull Key key, byte @NotNull [] bytes) {
+            this.store = store;
+            this.key = key;
+            this.bytes = bytes;
+        }
+
+        public byte @NotNull [] bytes() {
+            return bytes;
+        }
+
+        public @NotNull HashCode hash() {
+            return key.hash();
+        }
+
+        public void release() {
+            store.release(this);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.ishikyoo.memora.internal.storage;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+@ApiStatus.Internal
+public final class DeferredResourceBuffer implements ResourceBuffer {
+
+    private final @Nullable ResourceStorage storage;
+    private @Nullable Supplier<byte[]> source;
+    private volatile @Nullable ResourceBuffer delegate;
+    private boolean released;
+
+    public DeferredResourceBuffer(@NotNull ResourceStorage storage, @NotNull Supplier<byte[]> source) {
+        this.storage = Objects.requireNonNull(storage);
+        this.source = Objects.requireNonNull(source);
+    }
+
+    private DeferredResourceBuffer(@NotNull Supplier<byte[]> source) {
+        this.storage = null;
+        this.source = Objects.requireNonNull(source);
+    }
+
+    public static @NotNull DeferredResourceBuffer unstored(@NotNull Supplier<byte[]> source) {
+        return new DeferredResourceBuffer(source);
+    }
+
+    @Override
+    public boolean isMaterialized() {
+        return delegate != null;
+    }
+
+    @Override
+    public int size() {
+        return materialize().size();
+    }
+
+    @Override
+    public @NotNull ByteBuffer buffer() {
+        return materialize().buffer();
+    }
+
+    @Override
+    public @NotNull InputStream open() {
+        return materialize().open();
+    }
+
+    @Override
+    public byte @NotNull [] bytes() {
+        return materialize().bytes();
+    }
+
+    @Override
+    public void release() {
+        ResourceBuffer delegate;
+        synchronized (this) {
+            if (released) return;
+            released = true;
+            delegate = this.delegate;
+        }
+        if (delegate != null) delegate.release();
+    }
+
+    private @NotNull ResourceBuffer materialize() {
+        ResourceBuffer delegate = this.delegate;
+        if (delegate != null) return delegate;
+        synchronized (this) {
+            delegate = this.delegate;
+            if (delegate != null) return delegate;
+            byte[] bytes = Objects.requireNonNull(source).get();
+            delegate = released || storage == null
+                    ? new SliceResourceBuffer(ByteBuffer.wrap(bytes).asReadOnlyBuffer())
+                    : storage.store(bytes);
+            source = null;
+            this.delegate = delegate;
+            return delegate;
+        }
+    }
+}
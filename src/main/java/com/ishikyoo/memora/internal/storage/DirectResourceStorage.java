@@ -0,0 +1,54 @@
+package com.ishikyoo.memora.internal.storage;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+@ApiStatus.Internal
+public final class DirectResourceStorage implements ResourceStorage {
+
+    private static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private final @NotNull ResourceArena arena = new ResourceArena(ByteBuffer::allocateDirect, CHUNK_SIZE);
+
+    @Override
+    public @NotNull ResourceBuffer store(byte @NotNull [] bytes) {
+        try {
+            return arena.store(bytes);
+        } catch (IOException e) {
+            throw new IllegalStateException("Direct buffer allocation cannot fail with an I/O error", e);
+        }
+    }
+
+    @Override
+    public @NotNull String name() {
+        return "direct";
+    }
+
+    @Override
+    public long storedBytes() {
+        return arena.storedBytes();
+    }
+
+    @Override
+    public long acquireEpoch() {
+        return arena.acquireEpoch();
+    }
+
+    @Override
+    public void retainEpoch(long epoch) {
+        arena.retainEpoch(epoch);
+    }
+
+    @Override
+    public void releaseEpoch(long epoch) {
+        arena.releaseEpoch(epoch);
+    }
+
+    @Override
+    public void close() {
+        arena.close();
+    }
+}
@@ -0,0 +1,85 @@
+package com.ishikyoo.memora.internal.storage;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@ApiStatus.Internal
+public final class HeapResourceStorage implements ResourceStorage {
+
+    private final @NotNull ContentStore store;
+    private final @NotNull AtomicLong storedBytes = new AtomicLong();
+
+    public HeapResourceStorage() {
+        this(ContentStore.GLOBAL);
+    }
+
+    public HeapResourceStorage(@NotNull ContentStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public @NotNull ResourceBuffer store(byte @NotNull [] bytes) {
+        storedBytes.addAndGet(bytes.length);
+        return new Buffer(this, store.acquire(Objects.requireNonNull(bytes)));
+    }
+
+    @Override
+    public @NotNull String name() {
+        return "heap";
+    }
+
+    @Override
+    public long storedBytes() {
+        return storedBytes.get();
+    }
+
+    @Override
+    public void close() {
+
+    }
+
+    private static final class Buffer implements ResourceBuffer {
+
+        private final @NotNull HeapResourceStorage storage;
+        private final ContentStore.@NotNull Entry entry;
+        private final @NotNull AtomicBoolean released = new AtomicBoolean();
+
+        private Buffer(@NotNull HeapResourceStorage storage, ContentStore.@NotNull Entry entry) {
+            this.storage = storage;
+            this.entry = entry;
+        }
+
+        @Override
+        public int size() {
+            return entry.bytes().length;
+        }
+
+        @Override
+        public @NotNull ByteBuffer buffer() {
+            return ByteBuffer.wrap(entry.bytes()).asReadOnlyBuffer();
+        }
+
+        @Override
+        public @NotNull InputStream open() {
+            return ByteBufferInputStream.ofArray(entry.bytes());
+        }
+
+        @Override
+        public byte @NotNull [] bytes() {
+            return entry.bytes().clone();
+        }
+
+        @Override
+        public void release() {
+            if (!released.compareAndSet(false, true)) return;
+            storage.storedBytes.addAndGet(-entry.bytes().length);
+            entry.release();
+        }
+    }
+}
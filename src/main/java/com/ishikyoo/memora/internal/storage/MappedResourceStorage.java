@@ -0,0 +1,106 @@
+package com.ishikyoo.memora.internal.storage;
+
+import com.ishikyoo.memora.internal.ModContext;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+@ApiStatus.Internal
+public final class MappedResourceStorage implements ResourceStorage {
+
+    private static final Logger LOGGER = ModContext.LOGGER;
+
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private final @NotNull Path path;
+    private final @NotNull ResourceArena arena = new ResourceArena(this::map, SEGMENT_SIZE);
+    private @Nullable FileChannel channel;
+    private long fileSize;
+
+    public MappedResourceStorage(@NotNull Path directory, @NotNull String packId) {
+        try {
+            Files.createDirectories(directory);
+            this.path = Files.createTempFile(directory, sanitize(packId) + "-", ".bin");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create in-memory pack spill file for: " + packId, e);
+        }
+    }
+
+    @Override
+    public @NotNull ResourceBuffer store(byte @NotNull [] bytes) {
+        try {
+            return arena.store(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write to in-memory pack spill file: " + path, e);
+        }
+    }
+
+    @Override
+    public @NotNull String name() {
+        return "mapped";
+    }
+
+    @Override
+    public long storedBytes() {
+        return arena.storedBytes();
+    }
+
+    @Override
+    public long acquireEpoch() {
+        return arena.acquireEpoch();
+    }
+
+    @Override
+    public void retainEpoch(long epoch) {
+        arena.retainEpoch(epoch);
+    }
+
+    @Override
+    public void releaseEpoch(long epoch) {
+        arena.releaseEpoch(epoch);
+    }
+
+    @Override
+    public synchronized void close() {
+        arena.close();
+        try {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            } else {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to close in-memory pack spill file: {}", path, e);
+        }
+    }
+
+    private @NotNull MappedByteBuffer map(int size) throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+        }
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, fileSize, size);
+        fileSize += size;
+        return mapped;
+    }
+
+    static @NotNull String sanitize(@NotNull String packId) {
+        StringBuilder builder = new StringBuilder(packId.length());
+        for (int i = 0; i < packId.length(); i++) {
+            char c = packId.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '.' || c == '_' || c == '-';
+            builder.append(valid ? c : '_');
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,225 @@
+package com.ishikyoo.memora.internal.storage;
+
+import com.ishikyoo.memora.internal.ModContext;
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@ApiStatus.Internal
+public final class PackSnapshots {
+
+    private static final Logger LOGGER = ModContext.LOGGER;
+
+    public static final String VERIFY_PROPERTY = "memora.snapshot.verify";
+
+    private static final boolean VERIFY = Boolean.getBoolean(VERIFY_PROPERTY);
+    private static final long MAGIC = 0x4D454D4F52415350L;
+    private static final int VERSION = 1;
+    private static final int HASH_BYTES = 16;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final int HEADER_BYTES = Long.BYTES + Integer.BYTES * 3 + HASH_BYTES;
+    private static final String KEY_SEPARATOR = "-";
+    private static final String EXTENSION = ".snapshot";
+
+    private PackSnapshots() {}
+
+    public static @NotNull Path path(@NotNull String packId, @NotNull String key) {
+        return ResourceStorages.snapshotDirectory().resolve(fileName(packId, key));
+    }
+
+    public static @NotNull Optional<SnapshotResourceStorage> load(@NotNull String packId, @NotNull String key) {
+        Path path = path(packId, key);
+        if (!Files.isRegularFile(path)) return Optional.empty();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel, packId, key);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Ignoring unreadable in-memory pack snapshot: {}", path, e);
+            return Optional.empty();
+        }
+    }
+
+    public static void write(@NotNull String packId, @NotNull String key, @NotNull Map<ResourceLocation, byte[]> resources) {
+        Path path = path(packId, key);
+        Path temporary = null;
+        try {
+            ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+            DataOutputStream index = new DataOutputStream(indexBytes);
+            int offset = 0;
+            for (Map.Entry<ResourceLocation, byte[]> resource : resources.entrySet()) {
+                byte[] bytes = resource.getValue();
+                writeString(index, resource.getKey().toString());
+                index.writeInt(offset);
+                index.writeInt(bytes.length);
+                index.write(ContentStore.hash(bytes).asBytes());
+                offset = Math.addExact(offset, bytes.length);
+            }
+            byte[] indexArray = indexBytes.toByteArray();
+
+            Files.createDirectories(path.getParent());
+            temporary = Files.createTempFile(path.getParent(), MappedResourceStorage.sanitize(packId) + "-", ".tmp");
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary), WRITE_BUFFER_SIZE))) {
+                output.writeLong(MAGIC);
+                output.writeInt(VERSION);
+                output.writeInt(resources.size());
+                output.writeInt(indexArray.length);
+                output.write(ContentStore.hash(indexArray).asBytes());
+                writeString(output, packId);
+                writeString(output, key);
+                output.write(indexArray);
+                for (byte[] bytes : resources.values()) {
+                    output.write(bytes);
+                }
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            deleteStale(packId, path);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Failed to write in-memory pack snapshot: {}", path, e);
+            deleteQuietly(temporary);
+        }
+    }
+
+    private static @NotNull Optional<SnapshotResourceStorage> read(@NotNull FileChannel channel, @NotNull String packId,
+                                                                   @NotNull String key) throws IOException {
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) throw new IOException("Snapshot is too large: " + size + " bytes");
+        ByteBuffer header = readFully(channel, 0, Math.min((int) size, HEADER_BYTES));
+        if (header.remaining() < HEADER_BYTES || header.getLong() != MAGIC) throw new IOException("Not a snapshot file");
+        int version = header.getInt();
+        if (version != VERSION) throw new IOException("Unsupported snapshot version: " + version);
+        int count = header.getInt();
+        int indexSize = header.getInt();
+        byte[] indexHash = new byte[HASH_BYTES];
+        header.get(indexHash);
+
+        long position = HEADER_BYTES;
+        String storedId = readString(channel, position, size);
+        position += Integer.BYTES + storedId.getBytes(StandardCharsets.UTF_8).length;
+        if (!storedId.equals(packId)) return Optional.empty();
+        String storedKey = readString(channel, position, size);
+        position += Integer.BYTES + storedKey.getBytes(StandardCharsets.UTF_8).length;
+        if (!storedKey.equals(key)) return Optional.empty();
+
+        if (indexSize < 0 || indexSize > size - position) throw new IOException("Truncated snapshot index");
+        ByteBuffer index = readFully(channel, position, indexSize);
+        if (!Arrays.equals(ContentStore.hash(index.duplicate()).asBytes(), indexHash)) {
+            throw new IOException("Snapshot index hash mismatch");
+        }
+
+        long dataStart = position + indexSize;
+        int dataSize = (int) (size - dataStart);
+        List<Entry> entries = new ArrayList<>(Math.max(0, count));
+        for (int i = 0; i < count; i++) {
+            String location = readString(index);
+            int offset = index.getInt();
+            int length = index.getInt();
+            byte[] hash = new byte[HASH_BYTES];
+            index.get(hash);
+            if (offset < 0 || length < 0 || length > dataSize - offset) {
+                throw new IOException("Snapshot entry out of bounds: " + location);
+            }
+            ResourceLocation resourceLocation = ResourceLocation.tryParse(location);
+            if (resourceLocation == null) throw new IOException("Invalid snapshot entry location: " + location);
+            entries.add(new Entry(resourceLocation, offset, length, hash));
+        }
+
+        ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, dataStart, dataSize);
+        List<SnapshotResourceStorage.Entry> resources = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            ByteBuffer slice = data.slice(entry.offset(), entry.length());
+            if (VERIFY && !Arrays.equals(ContentStore.hash(slice.duplicate()).asBytes(), entry.hash())) {
+                throw new IOException("Snapshot entry hash mismatch: " + entry.location());
+            }
+            resources.add(new SnapshotResourceStorage.Entry(entry.location(), new SliceResourceBuffer(slice)));
+        }
+        return Optional.of(new SnapshotResourceStorage(resources, dataSize));
+    }
+
+    private static @NotNull ByteBuffer readFully(@NotNull FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) throw new IOException("Truncated snapshot");
+        }
+        return buffer.flip();
+    }
+
+    private static @NotNull String readString(@NotNull FileChannel channel, long position, long size) throws IOException {
+        if (size - position < Integer.BYTES) throw new IOException("Truncated snapshot string");
+        int length = readFully(channel, position, Integer.BYTES).getInt();
+        if (length < 0 || length > size - position - Integer.BYTES) throw new IOException("Truncated snapshot string");
+        return StandardCharsets.UTF_8.decode(readFully(channel, position + Integer.BYTES, length)).toString();
+    }
+
+    private static @NotNull String fileName(@NotNull String packId, @NotNull String key) {
+        return MappedResourceStorage.sanitize(packId) + KEY_SEPARATOR
+                + ContentStore.hash(key.getBytes(StandardCharsets.UTF_8)) + EXTENSION;
+    }
+
+    private static void deleteStale(@NotNull String packId, @NotNull Path current) {
+        String name = MappedResourceStorage.sanitize(packId);
+        int length = current.getFileName().toString().length();
+        deleteStale(current.resolveSibling(name + EXTENSION));
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(current.getParent(), name + KEY_SEPARATOR + "*" + EXTENSION)) {
+            for (Path file : files) {
+                if (file.equals(current) || file.getFileName().toString().length() != length) continue;
+                deleteStale(file);
+            }
+        } catch (IOException e) {
+            LOGGER.debug("Failed to clean up stale in-memory pack snapshots for {}", packId, e);
+        }
+    }
+
+    private static void deleteStale(@NotNull Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.debug("Keeping stale in-memory pack snapshot that is still in use: {}", file, e);
+        }
+    }
+
+    private static void writeString(@NotNull DataOutputStream output, @NotNull String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static @NotNull String readString(@NotNull ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) throw new IOException("Truncated snapshot string");
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record Entry(@NotNull ResourceLocation location, int offset, int length, byte @NotNull [] hash) {
+    }
+
+    private static void deleteQuietly(@Nullable Path path) {
+        if (path == null) return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to delete temporary in-memory pack snapshot: {}", path, e);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.ishikyoo.memora.internal.storage;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+@ApiStatus.Internal
+public final class PixelInputStream extends InputStream {
+
+    private final @NotNull PixelResourceBuffer source;
+    private @Nullable ByteBufferInputStream encoded;
+
+    PixelInputStream(@NotNull PixelResourceBuffer source) {
+        this.source = Objects.requireNonNull(source);
+    }
+
+    public @NotNull ByteBuffer pixels() {
+        return source.pixels();
+    }
+
+    public int width() {
+        return source.width();
+    }
+
+    public int height() {
+        return source.height();
+    }
+
+    @Override
+    public int read() {
+        return encoded().read();
+    }
+
+    @Override
+    public int read(byte @NotNull [] bytes, int offset, int length) {
+        return encoded().read(bytes, offset, length);
+    }
+
+    @Override
+    public long skip(long count) {
+        return encoded().skip(count);
+    }
+
+    @Override
+    public int available() {
+        return encoded().available();
+    }
+
+    @Override
+    public long transferTo(@NotNull OutputStream output) throws IOException {
+        return encoded().transferTo(output);
+    }
+
+    private @NotNull ByteBufferInputStream encoded() {
+        ByteBufferInputStream encoded = this.encoded;
+        if (encoded == null) {
+            encoded = new ByteBufferInputStream(ByteBuffer.wrap(source.encoded()));
+            this.encoded = encoded;
+        }
+        return encoded;
+    }
+}
@@ -0,0 +1,75 @@
+package com.ishikyoo.memora.internal.storage;
+
+import com.ishikyoo.memora.internal.util.PngEncoder;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+@ApiStatus.Internal
+public final class PixelResourceBuffer implements ResourceBuffer {
+
+    private final @NotNull ByteBuffer pixels;
+    private final int width;
+    private final int height;
+    private volatile byte @Nullable [] encoded;
+
+    public PixelResourceBuffer(@NotNull ByteBuffer pixels, int width, int height) {
+        this.pixels = Objects.requireNonNull(pixels).slice().asReadOnlyBuffer();
+        this.width = width;
+        this.height = height;
+    }
+
+    public @NotNull ByteBuffer pixels() {
+        return pixels.duplicate();
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    @Override
+    public boolean isMaterialized() {
+        return encoded != null;
+    }
+
+    @Override
+    public int size() {
+        return encoded().length;
+    }
+
+    @Override
+    public @NotNull ByteBuffer buffer() {
+        return ByteBuffer.wrap(encoded()).asReadOnlyBuffer();
+    }
+
+    @Override
+    public @NotNull InputStream open() {
+        return new PixelInputStream(this);
+    }
+
+    @Override
+    public void release() {
+        encoded = null;
+    }
+
+    byte @NotNull [] encoded() {
+        byte[] encoded = this.encoded;
+        if (encoded != null) return encoded;
+        synchronized (this) {
+            encoded = this.encoded;
+            if (encoded == null) {
+                encoded = PngEncoder.encode(pixels.duplicate(), width, height);
+                this.encoded = encoded;
+            }
+            return encoded;
+        }
+    }
+}
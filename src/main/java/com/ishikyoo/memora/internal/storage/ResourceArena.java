@@ -0,0 +1,192 @@
+package com.ishikyoo.memora.internal.storage;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@ApiStatus.Internal
+final class ResourceArena {
+
+    private static final int MAX_SLACK_FACTOR = 2;
+
+    interface Allocator {
+
+        @NotNull ByteBuffer allocate(int size) throws IOException;
+    }
+
+    private final @NotNull Allocator allocator;
+    private final int chunkSize;
+    private final @NotNull TreeMap<Integer, ArrayDeque<ByteBuffer>> free = new TreeMap<>();
+    private final @NotNull TreeMap<Long, Integer> readers = new TreeMap<>();
+    private final @NotNull ArrayDeque<Retired> retired = new ArrayDeque<>();
+    private @Nullable ByteBuffer chunk;
+    private long epoch;
+    private boolean closed;
+    private long storedBytes;
+    private long freeBytes;
+
+    ResourceArena(@NotNull Allocator allocator, int chunkSize) {
+        this.allocator = allocator;
+        this.chunkSize = chunkSize;
+    }
+
+    synchronized @NotNull ResourceBuffer store(byte @NotNull [] bytes) throws IOException {
+        ByteBuffer slot = reuse(bytes.length);
+        if (slot == null) slot = allocate(bytes.length);
+        slot.put(0, bytes, 0, bytes.length);
+        storedBytes += bytes.length;
+        return new Buffer(this, slot, bytes.length);
+    }
+
+    synchronized long storedBytes() {
+        return storedBytes;
+    }
+
+    synchronized long freeBytes() {
+        return freeBytes;
+    }
+
+    synchronized long acquireEpoch() {
+        readers.merge(epoch, 1, Integer::sum);
+        return epoch;
+    }
+
+    synchronized void retainEpoch(long epoch) {
+        if (!readers.containsKey(epoch)) throw new IllegalStateException("Resource epoch is no longer held: " + epoch);
+        readers.merge(epoch, 1, Integer::sum);
+    }
+
+    synchronized void releaseEpoch(long epoch) {
+        Integer count = readers.get(epoch);
+        if (count == null) return;
+        if (count > 1) readers.put(epoch, count - 1);
+        else readers.remove(epoch);
+        drain();
+    }
+
+    synchronized void close() {
+        closed = true;
+        chunk = null;
+        free.clear();
+        retired.clear();
+        readers.clear();
+        freeBytes = 0;
+    }
+
+    private synchronized void retire(@NotNull Buffer buffer) {
+        storedBytes -= buffer.size();
+        retired.add(new Retired(buffer, epoch++));
+        drain();
+    }
+
+    private void drain() {
+        long oldest = readers.isEmpty() ? Long.MAX_VALUE : readers.firstKey();
+        while (!retired.isEmpty() && retired.peekFirst().epoch() < oldest) {
+            retired.pollFirst().buffer().unref();
+        }
+    }
+
+    private synchronized void free(@NotNull ByteBuffer slot) {
+        if (closed || slot.capacity() == 0) return;
+        freeBytes += slot.capacity();
+        free.computeIfAbsent(slot.capacity(), size -> new ArrayDeque<>()).push(slot);
+    }
+
+    private @Nullable ByteBuffer reuse(int length) {
+        if (length == 0) return null;
+        Map.Entry<Integer, ArrayDeque<ByteBuffer>> entry = free.ceilingEntry(length);
+        if (entry == null || entry.getKey() > (long) length * MAX_SLACK_FACTOR) return null;
+        ArrayDeque<ByteBuffer> slots = entry.getValue();
+        ByteBuffer slot = slots.pop();
+        if (slots.isEmpty()) free.remove(entry.getKey());
+        freeBytes -= slot.capacity();
+        return slot;
+    }
+
+    private @NotNull ByteBuffer allocate(int length) throws IOException {
+        if (length > chunkSize / 4) return allocator.allocate(length);
+        if (chunk == null || chunk.remaining() < length) {
+            ByteBuffer previous = chunk;
+            chunk = allocator.allocate(chunkSize);
+            if (previous != null && previous.hasRemaining()) {
+                ByteBuffer tail = previous.slice(previous.position(), previous.remaining());
+                freeBytes += tail.capacity();
+                free.computeIfAbsent(tail.capacity(), size -> new ArrayDeque<>()).push(tail);
+            }
+        }
+        ByteBuffer slot = chunk.slice(chunk.position(), length);
+        chunk.position(chunk.position() + length);
+        return slot;
+    }
+
+    private record Retired(@NotNull Buffer buffer, long epoch) {
+    }
+
+    private static final class Buffer implements ResourceBuffer {
+
+        private final @NotNull ResourceArena arena;
+        private final @NotNull ByteBuffer slot;
+        private final @NotNull ByteBuffer view;
+        private final @NotNull AtomicBoolean released = new AtomicBoolean();
+        private final @NotNull AtomicInteger references = new AtomicInteger(1);
+
+        private Buffer(@NotNull ResourceArena arena, @NotNull ByteBuffer slot, int length) {
+            this.arena = arena;
+            this.slot = slot;
+            this.view = slot.slice(0, length).asReadOnlyBuffer();
+        }
+
+        @Override
+        public int size() {
+            return view.capacity();
+        }
+
+        @Override
+        public @NotNull ByteBuffer buffer() {
+            return view.duplicate();
+        }
+
+        @Override
+        public @NotNull InputStream open() {
+            retain();
+            return new ByteBufferInputStream(view.duplicate(), this::unref);
+        }
+
+        @Override
+        public byte @NotNull [] bytes() {
+            retain();
+            try {
+                return ResourceBuffer.super.bytes();
+            } finally {
+                unref();
+            }
+        }
+
+        @Override
+        public void release() {
+            if (!released.compareAndSet(false, true)) return;
+            arena.retire(this);
+        }
+
+        private void retain() {
+            int count;
+            do {
+                count = references.get();
+                if (count == 0) throw new IllegalStateException("In-memory resource buffer was already released");
+            } while (!references.compareAndSet(count, count + 1));
+        }
+
+        private void unref() {
+            if (references.decrementAndGet() == 0) arena.free(slot);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.ishikyoo.memora.internal.storage;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+@ApiStatus.Internal
+public interface ResourceBuffer {
+
+    int size();
+
+    @NotNull ByteBuffer buffer();
+
+    default @NotNull InputStream open() {
+        return new ByteBufferInputStream(buffer());
+    }
+
+    default boolean isMaterialized() {
+        return true;
+    }
+
+    default void release() {
+
+    }
+
+    default byte @NotNull [] bytes() {
+        ByteBuffer buffer = buffer();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ishikyoo.memora.internal.storage;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+@ApiStatus.Internal
+public interface ResourceStorage extends AutoCloseable {
+
+    @NotNull ResourceBuffer store(byte @NotNull [] bytes);
+
+    @NotNull String name();
+
+    long storedBytes();
+
+    default long acquireEpoch() {
+        return 0;
+    }
+
+    default void retainEpoch(long epoch) {
+
+    }
+
+    default void releaseEpoch(long epoch) {
+
+    }
+
+    @Override
+    void close();
+}
@@ -0,0 +1,32 @@
+package com.ishikyoo.memora.internal.storage;
+
+import com.ishikyoo.memora.api.InMemoryPackStorage;
+import com.ishikyoo.memora.internal.ModContext;
+import net.fabricmc.loader.api.FabricLoader;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+
+@ApiStatus.Internal
+public final class ResourceStorages {
+
+    private ResourceStorages() {}
+
+    public static @NotNull ResourceStorage create(@NotNull InMemoryPackStorage storage, @NotNull String packId) {
+        return switch (storage) {
+            case HEAP -> new HeapResourceStorage();
+            case DIRECT -> new DirectResourceStorage();
+            case MAPPED -> new MappedResourceStorage(spillDirectory(), packId);
+            case COMPRESSED -> new CompressedResourceStorage();
+        };
+    }
+
+    public static @NotNull Path spillDirectory() {
+        return FabricLoader.getInstance().getGameDir().resolve(ModContext.MOD_ID).resolve("spill");
+    }
+
+    public static @NotNull Path snapshotDirectory() {
+        return FabricLoader.getInstance().getGameDir().resolve(ModContext.MOD_ID).resolve("cache");
+    }
+}
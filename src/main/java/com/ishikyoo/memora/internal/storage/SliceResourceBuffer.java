@@ -0,0 +1,20 @@
+package com.ishikyoo.memora.internal.storage;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+@ApiStatus.Internal
+record SliceResourceBuffer(@NotNull ByteBuffer slice) implements ResourceBuffer {
+
+    @Override
+    public int size() {
+        return slice.capacity();
+    }
+
+    @Override
+    public @NotNull ByteBuffer buffer() {
+        return slice.duplicate();
+    }
+}
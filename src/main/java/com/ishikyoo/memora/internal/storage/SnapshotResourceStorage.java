@@ -0,0 +1,46 @@
+package com.ishikyoo.memora.internal.storage;
+
+import net.minecraft.resources.ResourceLocation;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+@ApiStatus.Internal
+public final class SnapshotResourceStorage implements ResourceStorage {
+
+    private final @NotNull List<Entry> entries;
+    private final long mappedBytes;
+    private final @NotNull ResourceStorage fallback = new HeapResourceStorage();
+
+    SnapshotResourceStorage(@NotNull List<Entry> entries, long mappedBytes) {
+        this.entries = List.copyOf(entries);
+        this.mappedBytes = mappedBytes;
+    }
+
+    public @NotNull List<Entry> entries() {
+        return entries;
+    }
+
+    @Override
+    public @NotNull ResourceBuffer store(byte @NotNull [] bytes) {
+        return fallback.store(bytes);
+    }
+
+    @Override
+    public @NotNull String name() {
+        return "snapshot";
+    }
+
+    @Override
+    public long storedBytes() {
+        return mappedBytes + fallback.storedBytes();
+    }
+
+    @Override
+    public void close() {
+        fallback.close();
+    }
+
+    public record Entry(@NotNull ResourceLocation location, @NotNull ResourceBuffer buffer) {}
+}
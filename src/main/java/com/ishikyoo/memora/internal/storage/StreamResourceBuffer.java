@@ -0,0 +1,112 @@
+package com.ishikyoo.memora.internal.storage;
+
+import com.ishikyoo.memora.internal.ModContext;
+import net.minecraft.server.packs.resources.IoSupplier;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+@ApiStatus.Internal
+public final class StreamResourceBuffer implements ResourceBuffer {
+
+    private static final Logger LOGGER = ModContext.LOGGER;
+
+    private static final int UNKNOWN_SIZE = -1;
+
+    private final @NotNull IoSupplier<InputStream> source;
+    private final @Nullable Path spillDirectory;
+    private volatile @Nullable Path spilled;
+    private volatile int size = UNKNOWN_SIZE;
+    private boolean released;
+
+    public StreamResourceBuffer(@NotNull IoSupplier<InputStream> source, @Nullable Path spillDirectory) {
+        this.source = Objects.requireNonNull(source);
+        this.spillDirectory = spillDirectory;
+    }
+
+    @Override
+    public boolean isMaterialized() {
+        return spilled != null;
+    }
+
+    @Override
+    public int size() {
+        int size = this.size;
+        if (size != UNKNOWN_SIZE) return size;
+        try (InputStream stream = open()) {
+            long length = stream.transferTo(OutputStream.nullOutputStream());
+            size = (int) Math.min(length, Integer.MAX_VALUE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to measure streamed in-memory resource", e);
+        }
+        this.size = size;
+        return size;
+    }
+
+    @Override
+    public @NotNull ByteBuffer buffer() {
+        try (InputStream stream = open()) {
+            return ByteBuffer.wrap(stream.readAllBytes()).asReadOnlyBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read streamed in-memory resource", e);
+        }
+    }
+
+    @Override
+    public @NotNull InputStream open() {
+        try {
+            Path spilled = spill();
+            return spilled != null ? Files.newInputStream(spilled) : source.get();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open streamed in-memory resource", e);
+        }
+    }
+
+    @Override
+    public void release() {
+        Path spilled;
+        synchronized (this) {
+            if (released) return;
+            released = true;
+            spilled = this.spilled;
+            this.spilled = null;
+        }
+        if (spilled == null) return;
+        try {
+            Files.deleteIfExists(spilled);
+        } catch (IOException e) {
+            LOGGER.warn("Failed to delete in-memory resource spill file: {}", spilled, e);
+        }
+    }
+
+    private @Nullable Path spill() throws IOException {
+        if (spillDirectory == null) return null;
+        Path spilled = this.spilled;
+        if (spilled != null) return spilled;
+        synchronized (this) {
+            spilled = this.spilled;
+            if (spilled != null || released) return spilled;
+            Files.createDirectories(spillDirectory);
+            Path path = Files.createTempFile(spillDirectory, "stream-", ".bin");
+            try (InputStream stream = source.get(); OutputStream output = Files.newOutputStream(path)) {
+                long length = stream.transferTo(output);
+                size = (int) Math.min(length, Integer.MAX_VALUE);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(path);
+                throw e;
+            }
+            this.spilled = path;
+            return path;
+        }
+    }
+}
@@ -0,0 +1,487 @@
+package com.ishikyoo.memora.internal.util;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+@ApiStatus.Internal
+public final class PersistentHashMap<K, V> implements Iterable<Map.Entry<K, V>> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final Object NOT_FOUND = new Object();
+
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+
+    private final @Nullable Node root;
+    private final int size;
+
+    private PersistentHashMap(@Nullable Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> @NotNull PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(@NotNull Object key) {
+        if (root == null) return null;
+        Object value = root.find(0, hash(key), key);
+        return value == NOT_FOUND ? null : (V) value;
+    }
+
+    public @NotNull V getOrDefault(@NotNull Object key, @NotNull V defaultValue) {
+        V value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public boolean containsKey(@NotNull Object key) {
+        return root != null && root.find(0, hash(key), key) != NOT_FOUND;
+    }
+
+    public @NotNull PersistentHashMap<K, V> with(@NotNull K key, @NotNull V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        boolean[] added = new boolean[1];
+        Node base = root == null ? BitmapNode.EMPTY : root;
+        Node node = base.put(null, 0, hash(key), key, value, added);
+        if (node == root) return this;
+        return new PersistentHashMap<>(node, added[0] ? size + 1 : size);
+    }
+
+    public @NotNull PersistentHashMap<K, V> without(@NotNull Object key) {
+        if (root == null) return this;
+        Node node = root.remove(null, 0, hash(key), key);
+        if (node == root) return this;
+        return node == null ? empty() : new PersistentHashMap<>(node, size - 1);
+    }
+
+    public @NotNull Transient<K, V> asTransient() {
+        return new Transient<>(root, size);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(@NotNull BiConsumer<? super K, ? super V> action) {
+        if (root != null) root.forEach((BiConsumer<Object, Object>) action);
+    }
+
+    @Override
+    public @NotNull Iterator<Map.Entry<K, V>> iterator() {
+        return new EntryIterator<>(root);
+    }
+
+    public @NotNull Set<K> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public @NotNull Iterator<K> iterator() {
+                Iterator<Map.Entry<K, V>> entries = PersistentHashMap.this.iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entries.hasNext();
+                    }
+
+                    @Override
+                    public K next() {
+                        return entries.next().getKey();
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o != null && containsKey(o);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    public @NotNull Map<K, V> asMap() {
+        return new AbstractMap<>() {
+            @Override
+            public @NotNull Set<Entry<K, V>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override
+                    public @NotNull Iterator<Entry<K, V>> iterator() {
+                        return PersistentHashMap.this.iterator();
+                    }
+
+                    @Override
+                    public int size() {
+                        return size;
+                    }
+                };
+            }
+
+            @Override
+            public V get(Object key) {
+                return key == null ? null : PersistentHashMap.this.get(key);
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return key != null && PersistentHashMap.this.containsKey(key);
+            }
+
+            @Override
+            public @NotNull Set<K> keySet() {
+                return PersistentHashMap.this.keySet();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @ApiStatus.Internal
+    public static final class Transient<K, V> {
+
+        private @Nullable Object edit = new Object();
+        private @Nullable Node root;
+        private int size;
+
+        private Transient(@Nullable Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        public int size() {
+            ensureEditable();
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public @Nullable V get(@NotNull Object key) {
+            ensureEditable();
+            if (root == null) return null;
+            Object value = root.find(0, hash(key), key);
+            return value == NOT_FOUND ? null : (V) value;
+        }
+
+        public boolean containsKey(@NotNull Object key) {
+            ensureEditable();
+            return root != null && root.find(0, hash(key), key) != NOT_FOUND;
+        }
+
+        public @NotNull Transient<K, V> put(@NotNull K key, @NotNull V value) {
+            ensureEditable();
+            Objects.requireNonNull(key);
+            Objects.requireNonNull(value);
+            boolean[] added = new boolean[1];
+            Node base = root == null ? BitmapNode.EMPTY : root;
+            root = base.put(edit, 0, hash(key), key, value, added);
+            if (added[0]) size++;
+            return this;
+        }
+
+        public @NotNull Transient<K, V> remove(@NotNull Object key) {
+            ensureEditable();
+            if (root == null) return this;
+            int hash = hash(key);
+            if (root.find(0, hash, key) == NOT_FOUND) return this;
+            root = root.remove(edit, 0, hash, key);
+            size--;
+            return this;
+        }
+
+        public @NotNull PersistentHashMap<K, V> persistent() {
+            ensureEditable();
+            edit = null;
+            return size == 0 ? empty() : new PersistentHashMap<>(root, size);
+        }
+
+        private void ensureEditable() {
+            if (edit == null) {
+                throw new IllegalStateException("Transient map used after persistent() call");
+            }
+        }
+    }
+
+    private static int hash(@NotNull Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static Object[] insertPair(Object[] array, int index, Object key, Object value) {
+        Object[] copy = new Object[array.length + 2];
+        System.arraycopy(array, 0, copy, 0, index);
+        copy[index] = key;
+        copy[index + 1] = value;
+        System.arraycopy(array, index, copy, index + 2, array.length - index);
+        return copy;
+    }
+
+    private static Object[] removePair(Object[] array, int index) {
+        Object[] copy = new Object[array.length - 2];
+        System.arraycopy(array, 0, copy, 0, index);
+        System.arraycopy(array, index + 2, copy, index, array.length - index - 2);
+        return copy;
+    }
+
+    private static Node createNode(@Nullable Object edit, int shift, Object key1, Object value1,
+                                   int hash2, Object key2, Object value2) {
+        int hash1 = hash(key1);
+        if (hash1 == hash2) {
+            return new CollisionNode(edit, hash1, new Object[]{key1, value1, key2, value2});
+        }
+        boolean[] added = new boolean[1];
+        return BitmapNode.EMPTY
+                .put(edit, shift, hash1, key1, value1, added)
+                .put(edit, shift, hash2, key2, value2, added);
+    }
+
+    private static abstract class Node {
+
+        final @Nullable Object owner;
+        Object[] array;
+
+        Node(@Nullable Object owner, Object[] array) {
+            this.owner = owner;
+            this.array = array;
+        }
+
+        boolean isEditable(@Nullable Object edit) {
+            return edit != null && owner == edit;
+        }
+
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node put(@Nullable Object edit, int shift, int hash, Object key, Object value, boolean[] added);
+
+        abstract @Nullable Node remove(@Nullable Object edit, int shift, int hash, Object key);
+
+        void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node) array[i + 1]).forEach(action);
+                } else {
+                    action.accept(array[i], array[i + 1]);
+                }
+            }
+        }
+    }
+
+    private static final class BitmapNode extends Node {
+
+        static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+
+        int bitmap;
+
+        BitmapNode(@Nullable Object owner, int bitmap, Object[] array) {
+            super(owner, array);
+            this.bitmap = bitmap;
+        }
+
+        private int index(int bit) {
+            return 2 * Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private BitmapNode editable(@Nullable Object edit) {
+            if (isEditable(edit)) return this;
+            return new BitmapNode(edit, bitmap, array.clone());
+        }
+
+        private BitmapNode withArray(@Nullable Object edit, int bitmap, Object[] array) {
+            if (isEditable(edit)) {
+                this.bitmap = bitmap;
+                this.array = array;
+                return this;
+            }
+            return new BitmapNode(edit, bitmap, array);
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) return NOT_FOUND;
+            int index = index(bit);
+            Object k = array[index];
+            Object v = array[index + 1];
+            if (k == null) return ((Node) v).find(shift + BITS, hash, key);
+            return key.equals(k) ? v : NOT_FOUND;
+        }
+
+        @Override
+        Node put(@Nullable Object edit, int shift, int hash, Object key, Object value, boolean[] added) {
+            int bit = bit(hash, shift);
+            int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                added[0] = true;
+                return withArray(edit, bitmap | bit, insertPair(array, index, key, value));
+            }
+            Object k = array[index];
+            Object v = array[index + 1];
+            if (k == null) {
+                Node child = ((Node) v).put(edit, shift + BITS, hash, key, value, added);
+                if (child == v) return this;
+                BitmapNode node = editable(edit);
+                node.array[index + 1] = child;
+                return node;
+            }
+            if (key.equals(k)) {
+                if (value == v) return this;
+                BitmapNode node = editable(edit);
+                node.array[index + 1] = value;
+                return node;
+            }
+            added[0] = true;
+            BitmapNode node = editable(edit);
+            node.array[index] = null;
+            node.array[index + 1] = createNode(edit, shift + BITS, k, v, hash, key, value);
+            return node;
+        }
+
+        @Override
+        @Nullable Node remove(@Nullable Object edit, int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) return this;
+            int index = index(bit);
+            Object k = array[index];
+            Object v = array[index + 1];
+            if (k == null) {
+                Node child = ((Node) v).remove(edit, shift + BITS, hash, key);
+                if (child == v) return this;
+                if (child != null) {
+                    BitmapNode node = editable(edit);
+                    node.array[index + 1] = child;
+                    return node;
+                }
+            } else if (!key.equals(k)) {
+                return this;
+            }
+            if (bitmap == bit) return null;
+            return withArray(edit, bitmap ^ bit, removePair(array, index));
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+
+        final int hash;
+
+        CollisionNode(@Nullable Object owner, int hash, Object[] array) {
+            super(owner, array);
+            this.hash = hash;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) return i;
+            }
+            return -1;
+        }
+
+        private CollisionNode withArray(@Nullable Object edit, Object[] array) {
+            if (isEditable(edit)) {
+                this.array = array;
+                return this;
+            }
+            return new CollisionNode(edit, hash, array);
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            if (hash != this.hash) return NOT_FOUND;
+            int index = indexOf(key);
+            return index == -1 ? NOT_FOUND : array[index + 1];
+        }
+
+        @Override
+        Node put(@Nullable Object edit, int shift, int hash, Object key, Object value, boolean[] added) {
+            if (hash != this.hash) {
+                return new BitmapNode(edit, bit(this.hash, shift), new Object[]{null, this})
+                        .put(edit, shift, hash, key, value, added);
+            }
+            int index = indexOf(key);
+            if (index == -1) {
+                added[0] = true;
+                return withArray(edit, insertPair(array, array.length, key, value));
+            }
+            if (array[index + 1] == value) return this;
+            Object[] copy = isEditable(edit) ? array : array.clone();
+            copy[index + 1] = value;
+            return withArray(edit, copy);
+        }
+
+        @Override
+        @Nullable Node remove(@Nullable Object edit, int shift, int hash, Object key) {
+            if (hash != this.hash) return this;
+            int index = indexOf(key);
+            if (index == -1) return this;
+            if (array.length == 2) return null;
+            return withArray(edit, removePair(array, index));
+        }
+    }
+
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+
+        private final Deque<Object[]> arrays = new ArrayDeque<>();
+        private final Deque<Integer> indices = new ArrayDeque<>();
+        private @Nullable Map.Entry<K, V> next;
+
+        private EntryIterator(@Nullable Node root) {
+            if (root != null) {
+                arrays.push(root.array);
+                indices.push(0);
+            }
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (!arrays.isEmpty()) {
+                Object[] array = arrays.peek();
+                int index = indices.pop();
+                if (index >= array.length) {
+                    arrays.pop();
+                    continue;
+                }
+                indices.push(index + 2);
+                if (array[index] == null) {
+                    arrays.push(((Node) array[index + 1]).array);
+                    indices.push(0);
+                    continue;
+                }
+                next = new AbstractMap.SimpleImmutableEntry<>((K) array[index], (V) array[index + 1]);
+                return;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (next == null) throw new NoSuchElementException();
+            Map.Entry<K, V> entry = next;
+            advance();
+            return entry;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.ishikyoo.memora.internal.util;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+@ApiStatus.Internal
+public final class PngEncoder {
+
+    private static final byte[] SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+    private static final byte[] IHDR = "IHDR".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IDAT = "IDAT".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] IEND = "IEND".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int BYTES_PER_PIXEL = 4;
+    private static final int BIT_DEPTH = 8;
+    private static final int COLOR_TYPE_RGBA = 6;
+    private static final byte FILTER_NONE = 0;
+    private static final int ZLIB_HEADER_FAST = 0x7801;
+    private static final int BAND_BYTES = 256 * 1024;
+
+    private PngEncoder() {}
+
+    public static byte @NotNull [] encode(@NotNull ByteBuffer rgba, int width, int height) {
+        if (width <= 0 || height <= 0) throw new IllegalArgumentException("Invalid image size: " + width + "x" + height);
+        int stride = width * BYTES_PER_PIXEL;
+        if (rgba.remaining() != (long) stride * height) {
+            throw new IllegalArgumentException("Expected " + (long) stride * height + " pixel bytes, but got " + rgba.remaining());
+        }
+
+        int rowsPerBand = Math.max(1, BAND_BYTES / (stride + 1));
+        int bands = (height + rowsPerBand - 1) / rowsPerBand;
+        byte[][] compressed = new byte[bands][];
+        long[] checksums = new long[bands];
+        int[] lengths = new int[bands];
+        IntStream indices = IntStream.range(0, bands);
+        if (bands > 1) indices = indices.parallel();
+        indices.forEach(band -> {
+            int from = band * rowsPerBand;
+            int to = Math.min(height, from + rowsPerBand);
+            byte[] filtered = filter(rgba, stride, from, to);
+            Adler32 checksum = new Adler32();
+            checksum.update(filtered);
+            checksums[band] = checksum.getValue();
+            lengths[band] = filtered.length;
+            compressed[band] = deflate(filtered, band == bands - 1);
+        });
+
+        ByteArrayOutputStream idat = new ByteArrayOutputStream();
+        idat.write(ZLIB_HEADER_FAST >>> 8);
+        idat.write(ZLIB_HEADER_FAST & 0xFF);
+        for (byte[] band : compressed) {
+            idat.writeBytes(band);
+        }
+        long adler = checksums[0];
+        for (int band = 1; band < bands; band++) {
+            adler = combineAdler32(adler, checksums[band], lengths[band]);
+        }
+        writeInt(idat, (int) adler);
+
+        ByteBuffer header = ByteBuffer.allocate(13)
+                .putInt(width)
+                .putInt(height)
+                .put((byte) BIT_DEPTH)
+                .put((byte) COLOR_TYPE_RGBA)
+                .put((byte) 0)
+                .put((byte) 0)
+                .put((byte) 0);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(idat.size() + 64);
+        output.writeBytes(SIGNATURE);
+        writeChunk(output, IHDR, header.array());
+        writeChunk(output, IDAT, idat.toByteArray());
+        writeChunk(output, IEND, new byte[0]);
+        return output.toByteArray();
+    }
+
+    private static byte @NotNull [] filter(@NotNull ByteBuffer rgba, int stride, int from, int to) {
+        byte[] filtered = new byte[(to - from) * (stride + 1)];
+        ByteBuffer source = rgba.duplicate();
+        int base = source.position();
+        int offset = 0;
+        for (int row = from; row < to; row++) {
+            filtered[offset++] = FILTER_NONE;
+            source.get(base + row * stride, filtered, offset, stride);
+            offset += stride;
+        }
+        return filtered;
+    }
+
+    private static byte @NotNull [] deflate(byte @NotNull [] data, boolean last) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(data);
+            if (last) deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(data.length / 2 + 64);
+            byte[] buffer = new byte[64 * 1024];
+            int flush = last ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH;
+            while (true) {
+                int count = deflater.deflate(buffer, 0, buffer.length, flush);
+                output.write(buffer, 0, count);
+                if (last ? deflater.finished() : count < buffer.length) break;
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static long combineAdler32(long adler1, long adler2, long length2) {
+        final long base = 65521;
+        long remainder = length2 % base;
+        long sum1 = adler1 & 0xFFFF;
+        long sum2 = (remainder * sum1) % base;
+        sum1 += (adler2 & 0xFFFF) + base - 1;
+        sum2 += ((adler1 >>> 16) & 0xFFFF) + ((adler2 >>> 16) & 0xFFFF) + base - remainder;
+        if (sum1 >= base) sum1 -= base;
+        if (sum1 >= base) sum1 -= base;
+        if (sum2 >= (base << 1)) sum2 -= (base << 1);
+        if (sum2 >= base) sum2 -= base;
+        return (sum2 << 16) | sum1;
+    }
+
+    private static void writeChunk(@NotNull ByteArrayOutputStream output, byte @NotNull [] type, byte @NotNull [] data) {
+        writeInt(output, data.length);
+        output.writeBytes(type);
+        output.writeBytes(data);
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(data);
+        writeInt(output, (int) crc.getValue());
+    }
+
+    private static void writeInt(@NotNull ByteArrayOutputStream output, int value) {
+        output.write(value >>> 24);
+        output.write(value >>> 16);
+        output.write(value >>> 8);
+        output.write(value);
+    }
+}
@@ -0,0 +1,148 @@
+package com.ishikyoo.memora.internal.util;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Objects;
+
+@ApiStatus.Internal
+public final class Utf8Sink extends Writer {
+
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+    private static final int MAX_POOLED_CAPACITY = 1024 * 1024;
+    private static final byte REPLACEMENT = '?';
+
+    private static final ThreadLocal<Utf8Sink> POOL = ThreadLocal.withInitial(() -> new Utf8Sink(true));
+
+    private final boolean pooled;
+    private byte @NotNull [] buffer = new byte[INITIAL_CAPACITY];
+    private int size;
+    private char pendingHighSurrogate;
+    private boolean acquired;
+
+    private Utf8Sink(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    public static @NotNull Utf8Sink acquire() {
+        Utf8Sink sink = POOL.get();
+        if (sink.acquired) {
+            sink = new Utf8Sink(false);
+        }
+        sink.acquired = true;
+        sink.size = 0;
+        sink.pendingHighSurrogate = 0;
+        return sink;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte @NotNull [] toByteArray() {
+        flushPendingSurrogate();
+        return Arrays.copyOf(buffer, size);
+    }
+
+    @Override
+    public void write(int c) {
+        ensureCapacity(4);
+        encode((char) c);
+    }
+
+    @Override
+    public void write(char @NotNull [] chars, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, chars.length);
+        int end = offset + length;
+        int index = offset;
+        if (pendingHighSurrogate == 0) {
+            ensureCapacity(length);
+            while (index < end && chars[index] < 0x80) {
+                buffer[size++] = (byte) chars[index++];
+            }
+        }
+        while (index < end) {
+            ensureCapacity(4);
+            encode(chars[index++]);
+        }
+    }
+
+    @Override
+    public void write(@NotNull String string, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, string.length());
+        int end = offset + length;
+        int index = offset;
+        if (pendingHighSurrogate == 0) {
+            ensureCapacity(length);
+            char c;
+            while (index < end && (c = string.charAt(index)) < 0x80) {
+                buffer[size++] = (byte) c;
+                index++;
+            }
+        }
+        while (index < end) {
+            ensureCapacity(4);
+            encode(string.charAt(index++));
+        }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+        if (!acquired) return;
+        acquired = false;
+        if (pooled && buffer.length > MAX_POOLED_CAPACITY) {
+            buffer = new byte[INITIAL_CAPACITY];
+        }
+    }
+
+    private void encode(char c) {
+        if (pendingHighSurrogate != 0) {
+            char high = pendingHighSurrogate;
+            pendingHighSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                buffer[size++] = (byte) (0xF0 | (codePoint >>> 18));
+                buffer[size++] = (byte) (0x80 | ((codePoint >>> 12) & 0x3F));
+                buffer[size++] = (byte) (0x80 | ((codePoint >>> 6) & 0x3F));
+                buffer[size++] = (byte) (0x80 | (codePoint & 0x3F));
+                return;
+            }
+            buffer[size++] = REPLACEMENT;
+            ensureCapacity(4);
+        }
+        if (c < 0x80) {
+            buffer[size++] = (byte) c;
+        } else if (c < 0x800) {
+            buffer[size++] = (byte) (0xC0 | (c >>> 6));
+            buffer[size++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buffer[size++] = REPLACEMENT;
+        } else {
+            buffer[size++] = (byte) (0xE0 | (c >>> 12));
+            buffer[size++] = (byte) (0x80 | ((c >>> 6) & 0x3F));
+            buffer[size++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void flushPendingSurrogate() {
+        if (pendingHighSurrogate == 0) return;
+        pendingHighSurrogate = 0;
+        ensureCapacity(1);
+        buffer[size++] = REPLACEMENT;
+    }
+
+    private void ensureCapacity(int additional) {
+        int required = size + additional;
+        if (required <= buffer.length) return;
+        int capacity = Math.max(required, buffer.length + (buffer.length >> 1));
+        buffer = Arrays.copyOf(buffer, capacity);
+    }
+}
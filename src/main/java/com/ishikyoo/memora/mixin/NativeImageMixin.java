@@ -0,0 +1,55 @@
+package com.ishikyoo.memora.mixin;
+
+import com.ishikyoo.memora.internal.storage.ByteBufferInputStream;
+import com.ishikyoo.memora.internal.storage.PixelInputStream;
+import com.mojang.blaze3d.platform.NativeImage;
+import org.lwjgl.system.MemoryUtil;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+@Mixin(NativeImage.class)
+public class NativeImageMixin {
+
+	@Inject(method = "read(Lcom/mojang/blaze3d/platform/NativeImage$Format;Ljava/io/InputStream;)Lcom/mojang/blaze3d/platform/NativeImage;",
+			at = @At("HEAD"), cancellable = true)
+	private static void readInMemoryBuffer(NativeImage.Format format, InputStream stream,
+										   CallbackInfoReturnable<NativeImage> cir) throws IOException {
+		if (stream instanceof PixelInputStream pixelStream && format == NativeImage.Format.RGBA) {
+			try (pixelStream) {
+				cir.setReturnValue(readPixels(pixelStream));
+			}
+			return;
+		}
+
+		if (!(stream instanceof ByteBufferInputStream bufferStream)) return;
+
+		try (bufferStream) {
+			ByteBuffer buffer = bufferStream.buffer();
+			if (buffer.isDirect()) {
+				cir.setReturnValue(NativeImage.read(format, buffer));
+				return;
+			}
+
+			ByteBuffer copy = MemoryUtil.memAlloc(buffer.remaining());
+			try {
+				copy.put(buffer).flip();
+				cir.setReturnValue(NativeImage.read(format, copy));
+			} finally {
+				MemoryUtil.memFree(copy);
+			}
+		}
+	}
+
+	private static NativeImage readPixels(PixelInputStream stream) {
+		ByteBuffer pixels = stream.pixels();
+		NativeImage image = new NativeImage(NativeImage.Format.RGBA, stream.width(), stream.height(), false);
+		MemoryUtil.memByteBuffer(image.getPointer(), pixels.remaining()).put(pixels);
+		return image;
+	}
+}
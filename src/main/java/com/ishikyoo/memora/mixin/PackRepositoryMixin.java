@@ -1,8 +1,9 @@
 package com.ishikyoo.memora.mixin;
 
 import com.google.common.collect.ImmutableMap;
+import com.ishikyoo.memora.internal.InMemoryPackRepository;
 import com.ishikyoo.memora.internal.Memora;
-import com.ishikyoo.memora.internal.InMemoryPack;
+import com.ishikyoo.memora.internal.event.DiscoveryMergeEvent;
 import net.minecraft.server.packs.repository.Pack;
 import net.minecraft.server.packs.repository.PackRepository;
 import org.spongepowered.asm.mixin.Mixin;
@@ -12,31 +13,51 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.TreeMap;
 
 @Mixin(PackRepository.class)
 public class PackRepositoryMixin {
 
 	@Inject(method = "discoverAvailable", at = @At("RETURN"), cancellable = true)
 	private void addInMemoryPack(CallbackInfoReturnable<Map<String, Pack>> cir) {
-		Map<String, Pack> original = cir.getReturnValue();
+		InMemoryPackRepository.Discovery discovery = Memora.repository.discovery();
+		if (discovery.isEmpty()) return;
 
-		Map<String, Pack> map = new TreeMap<>(original);
+		DiscoveryMergeEvent event = new DiscoveryMergeEvent();
+		event.begin();
 
-		for (InMemoryPack pack : Memora.repository.getAvailablePacks()) {
-			Optional<Pack> optional = pack.base();
-			if (optional.isEmpty()) continue;
-			Pack mcPack = optional.get();
-			map.put(mcPack.getId(), mcPack);
+		Map<String, Pack> original = cir.getReturnValue();
+		List<Pack> packs = discovery.packs();
+		ImmutableMap.Builder<String, Pack> builder = ImmutableMap.builderWithExpectedSize(original.size() + packs.size());
+
+		int index = 0;
+		for (Map.Entry<String, Pack> entry : original.entrySet()) {
+			String id = entry.getKey();
+			while (index < packs.size() && packs.get(index).getId().compareTo(id) < 0) {
+				Pack pack = packs.get(index++);
+				builder.put(pack.getId(), pack);
+			}
+			if (discovery.byId().containsKey(id)) continue;
+			builder.put(id, entry.getValue());
+		}
+		while (index < packs.size()) {
+			Pack pack = packs.get(index++);
+			builder.put(pack.getId(), pack);
 		}
 
-		cir.setReturnValue(ImmutableMap.copyOf(map));
+		Map<String, Pack> merged = builder.buildOrThrow();
+		cir.setReturnValue(merged);
+
+		event.end();
+		if (event.shouldCommit()) {
+			event.set(discovery.generation(), original.size(), packs.size(), merged.size());
+			event.commit();
+		}
 	}
 
 	@Inject(method = "setSelected", at = @At("TAIL"))
 	private void setSelectedInMemoryPacks(Collection<String> collection, CallbackInfo ci) {
 		Memora.repository.setSelected(collection);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package com.ishikyoo.memora.mixin;
+
+import net.minecraft.server.packs.resources.CloseableResourceManager;
+import net.minecraft.server.packs.resources.PreparableReloadListener;
+import net.minecraft.server.packs.resources.ReloadableResourceManager;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+import java.util.List;
+
+@Mixin(ReloadableResourceManager.class)
+public interface ReloadableResourceManagerAccessor {
+
+	@Accessor("listeners")
+	List<PreparableReloadListener> memora$getListeners();
+
+	@Accessor("resources")
+	void memora$setResources(CloseableResourceManager resources);
+}
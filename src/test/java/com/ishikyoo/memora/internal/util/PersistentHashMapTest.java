@@ -0,0 +1,153 @@
+package com.ishikyoo.memora.internal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentHashMapTest {
+
+    @Test
+    void withLeavesTheOriginalUnchanged() {
+        PersistentHashMap<String, Integer> empty = PersistentHashMap.empty();
+        PersistentHashMap<String, Integer> one = empty.with("a", 1);
+        PersistentHashMap<String, Integer> two = one.with("a", 2);
+
+        assertTrue(empty.isEmpty());
+        assertEquals(1, one.get("a"));
+        assertEquals(2, two.get("a"));
+        assertEquals(1, two.size());
+        assertSame(two, two.with("a", two.get("a")));
+    }
+
+    @Test
+    void collidingKeysAreKeptApart() {
+        PersistentHashMap<Colliding, String> map = PersistentHashMap.empty();
+        for (int i = 0; i < 8; i++) {
+            map = map.with(new Colliding(i), "v" + i);
+        }
+        map = map.with(new Colliding(100, 7), "other");
+
+        assertEquals(9, map.size());
+        for (int i = 0; i < 8; i++) {
+            assertEquals("v" + i, map.get(new Colliding(i)));
+        }
+        assertEquals("other", map.get(new Colliding(100, 7)));
+        assertNull(map.get(new Colliding(8)));
+
+        PersistentHashMap<Colliding, String> removed = map.without(new Colliding(3));
+        assertEquals(8, removed.size());
+        assertNull(removed.get(new Colliding(3)));
+        assertEquals("v4", removed.get(new Colliding(4)));
+        assertEquals("v3", map.get(new Colliding(3)));
+        assertSame(removed, removed.without(new Colliding(3)));
+    }
+
+    @Test
+    void removingEveryKeyYieldsTheEmptyMap() {
+        PersistentHashMap<Object, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 2000; i++) {
+            map = map.with(i, i);
+        }
+        map = map.with(new Colliding(1), -1).with(new Colliding(2), -2);
+        for (int i = 0; i < 2000; i++) {
+            map = map.without(i);
+        }
+        map = map.without(new Colliding(1)).without(new Colliding(2));
+
+        assertTrue(map.isEmpty());
+        assertSame(PersistentHashMap.empty(), map);
+        assertFalse(map.iterator().hasNext());
+    }
+
+    @Test
+    void iterationMatchesContents() {
+        Map<Integer, Integer> expected = new HashMap<>();
+        PersistentHashMap<Integer, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 500; i++) {
+            map = map.with(i * 31, i);
+            expected.put(i * 31, i);
+        }
+        Map<Integer, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+
+        assertEquals(expected, actual);
+        assertEquals(expected, new HashMap<>(map.asMap()));
+        assertEquals(expected.keySet(), map.keySet());
+    }
+
+    @Test
+    void transientEditsDoNotLeakIntoTheSource() {
+        PersistentHashMap<Integer, Integer> source = PersistentHashMap.empty();
+        for (int i = 0; i < 100; i++) {
+            source = source.with(i, i);
+        }
+        PersistentHashMap.Transient<Integer, Integer> edit = source.asTransient();
+        for (int i = 0; i < 100; i += 2) {
+            edit.remove(i);
+        }
+        edit.put(1, -1).put(1000, 1000);
+        PersistentHashMap<Integer, Integer> result = edit.persistent();
+
+        assertEquals(100, source.size());
+        assertEquals(0, source.get(0));
+        assertEquals(1, source.get(1));
+        assertNull(source.get(1000));
+        assertEquals(51, result.size());
+        assertNull(result.get(0));
+        assertEquals(-1, result.get(1));
+        assertEquals(1000, result.get(1000));
+    }
+
+    @Test
+    void persistentResultIsNotEditedByALaterTransient() {
+        PersistentHashMap.Transient<Integer, Integer> first = PersistentHashMap.<Integer, Integer>empty().asTransient();
+        for (int i = 0; i < 100; i++) {
+            first.put(i, i);
+        }
+        PersistentHashMap<Integer, Integer> built = first.persistent();
+        PersistentHashMap.Transient<Integer, Integer> second = built.asTransient();
+        second.put(5, -5).remove(6);
+
+        assertEquals(5, built.get(5));
+        assertEquals(6, built.get(6));
+        assertEquals(-5, second.get(5));
+        assertNull(second.get(6));
+        assertEquals(99, second.size());
+    }
+
+    @Test
+    void transientIsClosedByPersistent() {
+        PersistentHashMap.Transient<String, Integer> edit = PersistentHashMap.<String, Integer>empty().asTransient();
+        edit.put("a", 1);
+        edit.persistent();
+
+        assertThrows(IllegalStateException.class, () -> edit.put("b", 2));
+        assertThrows(IllegalStateException.class, edit::size);
+        assertThrows(IllegalStateException.class, edit::persistent);
+    }
+
+    @Test
+    void transientRemovalToEmptyYieldsTheEmptyMap() {
+        PersistentHashMap.Transient<Object, Integer> edit = PersistentHashMap.<Object, Integer>empty().asTransient();
+        edit.put(new Colliding(1), 1).put(new Colliding(2), 2).put(3, 3);
+        edit.remove(new Colliding(1)).remove(new Colliding(2)).remove(3).remove(3);
+
+        assertEquals(0, edit.size());
+        assertSame(PersistentHashMap.empty(), edit.persistent());
+    }
+
+    private record Colliding(int id, int hash) {
+
+        Colliding(int id) {
+            this(id, 42);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
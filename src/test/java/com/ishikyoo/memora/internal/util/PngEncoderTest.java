@@ -0,0 +1,88 @@
+package com.ishikyoo.memora.internal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PngEncoderTest {
+
+    @Test
+    void singleBandRoundTrips() throws DataFormatException {
+        assertRoundTrip(16, 16);
+    }
+
+    @Test
+    void multipleBandsCombineTheChecksum() throws DataFormatException {
+        assertRoundTrip(512, 700);
+    }
+
+    @Test
+    void uncompressibleBandsCombineTheChecksum() throws DataFormatException {
+        assertRoundTrip(300, 900);
+    }
+
+    @Test
+    void rejectsMismatchedPixelCount() {
+        assertThrows(IllegalArgumentException.class, () -> PngEncoder.encode(ByteBuffer.allocate(15), 2, 2));
+        assertThrows(IllegalArgumentException.class, () -> PngEncoder.encode(ByteBuffer.allocate(0), 0, 1));
+    }
+
+    private static void assertRoundTrip(int width, int height) throws DataFormatException {
+        byte[] pixels = new byte[width * height * 4];
+        Random random = new Random(width * 31L + height);
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = (byte) (height > 800 ? random.nextInt() : i / 4 % 251);
+        }
+
+        byte[] png = PngEncoder.encode(ByteBuffer.wrap(pixels), width, height);
+        byte[] scanlines = inflate(idat(png));
+
+        assertEquals(height * (width * 4 + 1), scanlines.length);
+        for (int row = 0; row < height; row++) {
+            int offset = row * (width * 4 + 1);
+            assertEquals(0, scanlines[offset]);
+            for (int i = 0; i < width * 4; i++) {
+                assertEquals(pixels[row * width * 4 + i], scanlines[offset + 1 + i]);
+            }
+        }
+    }
+
+    private static byte[] idat(byte[] png) {
+        ByteBuffer buffer = ByteBuffer.wrap(png, 8, png.length - 8);
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        while (buffer.hasRemaining()) {
+            int length = buffer.getInt();
+            byte[] type = new byte[4];
+            buffer.get(type);
+            byte[] chunk = new byte[length];
+            buffer.get(chunk);
+            buffer.getInt();
+            if (new String(type, StandardCharsets.US_ASCII).equals("IDAT")) data.writeBytes(chunk);
+        }
+        return data.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] zlib) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(zlib);
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[64 * 1024];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && inflater.needsInput()) throw new DataFormatException("Truncated zlib stream");
+                output.write(buffer, 0, count);
+            }
+            return output.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}